@@ -0,0 +1,9 @@
+#!/bin/sh
+# build and run the JMH benchmarks of the solver hot paths.
+# the results are written as JSON to results_<date>.json, for comparison between versions.
+# additional arguments are passed to JMH, for example a benchmark name pattern:
+#   ./run.sh AStarStrategyBenchmark -p file="pc19 tiles.txt"
+
+cd "$(dirname "$0")" || exit 1
+mvn -B -q package || exit 1
+java -jar target/benchmarks.jar -rf json -rff "results_$(date +%Y%m%d_%H%M%S).json" "$@"
@@ -0,0 +1,82 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * the heuristic (estimateCost) of the AStar strategies, on search states of the first board of each file.
+ * "AStarPuchertStrategy" is the hand-unrolled version selected by getInstance() for the board size,
+ * "AStarPuchertStrategyGeneric" is the generic version with loops.
+ * the layers remembered by the strategy on wide boards are cleared before each invocation,
+ * so the states are not found again from the previous invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AStarStrategyBenchmark {
+
+    private static final int NUM_STATES = 1024;
+
+    @Param({"pc19 tiles.txt", "dataset b24c4n1000.txt", "floodtest 1000.txt", "dataset b10c15n1000.txt", "random 50x50c6", "random 70x70c6", "random 100x100c6"})
+    public String file;
+
+    @Param({"AStarPuchertStrategy", "AStarPuchertStrategyGeneric", "AStarFlolleStrategy"})
+    public String strategy;
+
+    private BenchmarkData.States states;
+    private AStarPuchertStrategy strategyInstance;
+
+    @Setup
+    public void setup() throws Exception {
+        this.states = new BenchmarkData.States(BenchmarkData.readBoards(this.file, 1)[0], NUM_STATES, 42);
+        if ("AStarPuchertStrategyGeneric".equals(this.strategy)) {
+            this.strategyInstance = new AStarPuchertStrategy(this.states.board, this.states.storage);
+        } else {
+            this.strategyInstance = (AStarPuchertStrategy)AStarSolver.makeStrategy(
+                    Class.forName("colorfill.solver." + this.strategy).asSubclass(AStarStrategy.class), this.states.board, this.states.storage);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_STATES)
+    public int estimateCost() {
+        this.strategyInstance.clearLayerMemo();
+        int result = 0;
+        for (int i = 0;  i < NUM_STATES;  ++i) {
+            result += this.strategyInstance.estimateCost(this.states.nodes[i], this.states.nonCompletedColors[i]);
+        }
+        return result;
+    }
+}
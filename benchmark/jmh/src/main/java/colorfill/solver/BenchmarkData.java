@@ -0,0 +1,148 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import colorfill.model.Board;
+import colorfill.model.ColorArea;
+import colorfill.model.ColorAreaSet;
+import colorfill.solver.AStarSolver.HeapStateStorage;
+import colorfill.solver.AStarSolver.StateStorage;
+import colorfill.ui.BoardReader;
+
+/**
+ * the boards and search states used by the benchmarks.
+ * the board files are read from the directory given by the system property
+ * "colorfill.benchmark.dir", which is the parent directory "benchmark" by default.
+ * the pseudo file name "random WxWcC" generates boards of width and height W with C colors
+ * from a fixed seed, for the wide boards that are not contained in the benchmark files.
+ */
+final class BenchmarkData {
+
+    static final String DIRECTORY = System.getProperty("colorfill.benchmark.dir", "..");
+    private static final Pattern RANDOM_BOARD = Pattern.compile("random (\\d+)x\\1c(\\d+)");
+
+    private BenchmarkData() {
+        // no instances
+    }
+
+    /**
+     * read the first boards of this file.
+     */
+    static Board[] readBoards(final String fileName, final int count) throws IOException {
+        final List<Board> result = new ArrayList<Board>();
+        final Matcher matcher = RANDOM_BOARD.matcher(fileName);
+        if (matcher.matches()) {
+            final int width = Integer.parseInt(matcher.group(1));
+            final int colors = Integer.parseInt(matcher.group(2));
+            final Random random = new Random(width * 31 + colors);
+            while (result.size() < count) {
+                final StringBuilder sb = new StringBuilder(width * width);
+                for (int i = 0;  i < width * width;  ++i) {
+                    sb.append((char)('1' + random.nextInt(colors)));
+                }
+                result.add(new Board(sb.toString(), 0));
+            }
+            return result.toArray(new Board[result.size()]);
+        }
+        try (final BoardReader reader = new BoardReader(Paths.get(DIRECTORY, fileName).toString())) {
+            for (Board board;  (result.size() < count) && (null != (board = reader.next()));  ) {
+                result.add(board);
+            }
+        }
+        return result.toArray(new Board[result.size()]);
+    }
+
+    /**
+     * search states of one board, like the ones that are visited by the solvers.
+     */
+    static final class States {
+        final Board board;
+        final StateStorage storage;
+        final long[][] flooded, neighbors;
+        final int[] nonCompletedColors;
+        final AStarNode[] nodes;
+
+        /**
+         * create the states by random playouts from the start position, with a fixed seed.
+         */
+        States(final Board board, final int count, final long seed) {
+            this.board = board;
+            this.storage = new HeapStateStorage(board);
+            this.storage.put(ColorAreaSet.constructor(board)); // entry 0 is never used by the solvers
+            this.flooded = new long[count][];
+            this.neighbors = new long[count][];
+            this.nonCompletedColors = new int[count];
+            this.nodes = new AStarNode[count];
+            final long[][] casByColorBits = board.getCasByColorBitsArray();
+            final long[][] idsNeighborColorAreaSets = board.getNeighborColorAreaSet4IdArray();
+            final int allColorBits = casByColorBits.length - 1;
+            final ColorArea startCa = board.getColorArea4Cell(board.getStartPos());
+            final Random random = new Random(seed);
+            final int[] colorBits = new int[Integer.SIZE];
+            long[] casFlooded = null, casNeighbors = null;
+            int depth = 0;
+            for (int i = 0;  i < count;  ) {
+                if (null == casFlooded) { // start a new playout
+                    casFlooded = ColorAreaSet.constructor(board);
+                    ColorAreaSet.add(casFlooded, startCa);
+                    casNeighbors = ColorAreaSet.constructor(board);
+                    ColorAreaSet.addAll(casNeighbors, startCa.getNeighborsColorAreaSet());
+                    depth = 0;
+                }
+                int numColors = 0;
+                for (int colorBit = 1;  colorBit <= allColorBits;  colorBit <<= 1) {
+                    if (ColorAreaSet.intersects(casNeighbors, casByColorBits[colorBit])) {
+                        colorBits[numColors++] = colorBit;
+                    }
+                }
+                final long[] casColorBit = casByColorBits[colorBits[random.nextInt(numColors)]];
+                final long[] nextFlooded = casFlooded.clone();
+                ColorAreaSet.addAllAnd(nextFlooded, casNeighbors, casColorBit);
+                final long[] nextNeighbors = casNeighbors.clone();
+                ColorAreaSet.addAllAndLookup(nextNeighbors, casNeighbors, casColorBit, idsNeighborColorAreaSets);
+                ColorAreaSet.removeAll(nextNeighbors, nextFlooded);
+                int nonCompleted = allColorBits;
+                for (int colorBit = 1;  colorBit <= allColorBits;  colorBit <<= 1) {
+                    if (ColorAreaSet.containsAll(nextFlooded, casByColorBits[colorBit])) {
+                        nonCompleted ^= colorBit;
+                    }
+                }
+                if (0 == (nonCompleted & (nonCompleted - 1))) { // one or zero colors remaining
+                    casFlooded = null;
+                    continue;
+                }
+                ++depth;
+                this.flooded[i] = nextFlooded;
+                this.neighbors[i] = nextNeighbors;
+                this.nonCompletedColors[i] = nonCompleted;
+                this.nodes[i] = new AStarNode(this.storage.put(nextFlooded), this.storage.put(nextNeighbors), 0, depth);
+                ++i;
+                casFlooded = nextFlooded;
+                casNeighbors = nextNeighbors;
+            }
+        }
+    }
+}
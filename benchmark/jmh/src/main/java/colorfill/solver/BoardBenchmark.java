@@ -0,0 +1,91 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import colorfill.model.Board;
+
+/**
+ * construction of Board objects (including the ColorArea graph and the start position),
+ * from a String (the GUI and the old batch modes) and from the bytes read by BoardReader.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    private static final int NUM_BOARDS = 100;
+
+    @Param({"pc19 tiles.txt", "dataset b24c4n1000.txt", "floodtest 1000.txt"})
+    public String file;
+
+    private String[] strings;
+    private byte[][] bytes;
+    private int[] startPos;
+
+    @Setup
+    public void setup() throws Exception {
+        final Board[] boards = BenchmarkData.readBoards(this.file, NUM_BOARDS);
+        this.strings = new String[boards.length];
+        this.bytes = new byte[boards.length][];
+        this.startPos = new int[boards.length];
+        for (int i = 0;  i < boards.length;  ++i) {
+            this.strings[i] = boards[i].toStringCells();
+            this.bytes[i] = this.strings[i].getBytes(StandardCharsets.ISO_8859_1);
+            this.startPos[i] = boards[i].getStartPos();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_BOARDS)
+    public int fromString() {
+        int result = 0;
+        for (int i = 0;  i < NUM_BOARDS;  ++i) {
+            result += new Board(this.strings[i], this.startPos[i]).getSizeColorAreas64();
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_BOARDS)
+    public int fromBytes() {
+        int result = 0;
+        for (int i = 0;  i < NUM_BOARDS;  ++i) {
+            result += new Board(this.bytes[i], this.startPos[i]).getSizeColorAreas64();
+        }
+        return result;
+    }
+}
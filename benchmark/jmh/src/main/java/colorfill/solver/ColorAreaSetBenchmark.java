@@ -0,0 +1,100 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import colorfill.model.ColorAreaSet;
+
+/**
+ * ColorAreaSet.addAllAndLookup, which computes the new neighbors after a move,
+ * for each color of the search states of the first board of each file.
+ * "addAllAndLookupSparse" uses the SparseLookup table, which the strategies select for wide boards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorAreaSetBenchmark {
+
+    private static final int NUM_STATES = 1024;
+
+    @Param({"pc19 tiles.txt", "dataset b24c4n1000.txt", "floodtest 1000.txt", "dataset b10c15n1000.txt", "random 50x50c6", "random 70x70c6", "random 100x100c6"})
+    public String file;
+
+    private BenchmarkData.States states;
+    private long[][] casByColor, idsNeighborColorAreaSets;
+    private ColorAreaSet.SparseLookup idsNeighborSparse;
+    private long[] casDest;
+
+    @Setup
+    public void setup() throws Exception {
+        this.states = new BenchmarkData.States(BenchmarkData.readBoards(this.file, 1)[0], NUM_STATES, 42);
+        final long[][] casByColorBits = this.states.board.getCasByColorBitsArray();
+        this.casByColor = new long[this.states.board.getNumColors()][];
+        for (int color = 0;  color < this.casByColor.length;  ++color) {
+            this.casByColor[color] = casByColorBits[1 << color];
+        }
+        this.idsNeighborColorAreaSets = this.states.board.getNeighborColorAreaSet4IdArray();
+        this.idsNeighborSparse = this.states.board.getNeighborSparseLookup();
+        this.casDest = ColorAreaSet.constructor(this.states.board);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_STATES)
+    public long[] addAllAndLookup() {
+        final long[] dest = this.casDest;
+        for (int i = 0;  i < NUM_STATES;  ++i) {
+            final long[] neighbors = this.states.neighbors[i];
+            for (final long[] casColor : this.casByColor) {
+                ColorAreaSet.copyFrom(dest, neighbors);
+                ColorAreaSet.addAllAndLookup(dest, neighbors, casColor, this.idsNeighborColorAreaSets);
+            }
+        }
+        return dest;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_STATES)
+    public long[] addAllAndLookupSparse() {
+        final long[] dest = this.casDest;
+        for (int i = 0;  i < NUM_STATES;  ++i) {
+            final long[] neighbors = this.states.neighbors[i];
+            for (final long[] casColor : this.casByColor) {
+                ColorAreaSet.copyFrom(dest, neighbors);
+                ColorAreaSet.addAllAndLookup(dest, neighbors, casColor, this.idsNeighborSparse);
+            }
+        }
+        return dest;
+    }
+}
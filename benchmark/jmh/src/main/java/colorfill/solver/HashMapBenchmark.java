@@ -0,0 +1,110 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import colorfill.solver.AStarSolver.HashMapLongArray2Byte;
+import colorfill.solver.AStarSolver.HeapStateStorage;
+import colorfill.solver.AStarSolver.StateStorage;
+
+/**
+ * HashMapLongArray2Byte.putIfLess, the closed set of the AStar solver:
+ * "insert" adds new keys to an empty map (including the table resizes),
+ * "hit" looks up keys that are stored already with a lower value.
+ * "layout" is the probing of the table: plain linear probing or Robin Hood hashing.
+ * "fingerprints" stores the 64bit fingerprints of the keys, which are compared before the keys ("verified")
+ * or instead of them ("unverified").
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapBenchmark {
+
+    private static final int NUM_KEYS = 1 << 17;
+
+    @Param({"pc19 tiles.txt", "floodtest 1000.txt"})
+    public String file;
+
+    @Param({"linear", "robinHood"})
+    public String layout;
+
+    @Param({"off", "verified", "unverified"})
+    public String fingerprints;
+
+    private BenchmarkData.States states;
+    private HashMapLongArray2Byte emptyMap, fullMap;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws Exception {
+        this.states = new BenchmarkData.States(BenchmarkData.readBoards(this.file, 1)[0], NUM_KEYS, 42);
+        this.fullMap = this.newMap();
+        for (final long[] key : this.states.flooded) {
+            this.fullMap.putIfLess(key, 1);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        this.emptyMap = this.newMap();
+    }
+
+    private HashMapLongArray2Byte newMap() {
+        final StateStorage storage = new HeapStateStorage(this.states.board);
+        storage.put(this.states.flooded[0]); // reserve entry 0, because putIfLess() returns 0 for "not stored"
+        return new HashMapLongArray2Byte(this.states.board, storage, 1, "robinHood".equals(this.layout), false,
+                false == "off".equals(this.fingerprints), "verified".equals(this.fingerprints));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_KEYS)
+    public int insert() {
+        int result = 0;
+        for (final long[] key : this.states.flooded) {
+            result += this.emptyMap.putIfLess(key, 1);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_KEYS)
+    public int hit() {
+        int result = 0;
+        for (final long[] key : this.states.flooded) {
+            result += this.fullMap.putIfLess(key, 2);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import colorfill.model.Board;
+
+/**
+ * full solves of the first boards of each file.
+ * (the boards of "floodtest 1000.txt" take seconds each and are not included, use "-benchmark" for them)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SolverBenchmark {
+
+    private static final int NUM_BOARDS = 20;
+
+    @Param({"pc19 tiles.txt", "dataset b24c4n1000.txt", "dataset b10c15n1000.txt"})
+    public String file;
+
+    @Param({"AStarPuchertStrategy", "AStarFlolleStrategy", "DfsGreedyStrategy"})
+    public String strategy;
+
+    private Board[] boards;
+    private Class<? extends Strategy> strategyClass;
+
+    @Setup
+    public void setup() throws Exception {
+        this.boards = BenchmarkData.readBoards(this.file, NUM_BOARDS);
+        this.strategyClass = Class.forName("colorfill.solver." + this.strategy).asSubclass(Strategy.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_BOARDS)
+    public int solve() throws InterruptedException {
+        int result = 0;
+        for (final Board board : this.boards) {
+            final Solver solver = AbstractSolver.createSolver(this.strategyClass, board);
+            result += solver.execute(board.getStartPos(), null);
+        }
+        return result;
+    }
+}
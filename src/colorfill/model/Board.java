@@ -17,6 +17,7 @@
 
 package colorfill.model;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -46,6 +47,7 @@ public class Board {
     private int depth = -1; // -1 == not yet set
     private ColorArea[] idsColorAreas;
     private long[][] idsNeighborColorAreaSets;
+    private ColorAreaSet.SparseLookup idsNeighborSparseLookup;
     private int[] idsMemberSize;
     private int sizeColorAreas64;
     private final long[][] casByColorBits;
@@ -109,6 +111,34 @@ public class Board {
         }
     }
 
+    /**
+     * fills <code>this.char2Color</code> and <code>this.color2Char</code> and <code>this.cells</code>,
+     * like importString, but using a lookup table instead of the maps for each cell.
+     * @throws IllegalArgumentException if there are more than MAX_NUMBER_OF_COLORS distinct character values in <code>chars</code>
+     */
+    private void importChars(final byte[] chars) {
+        final byte[] char2ColorLookup = new byte[1 << Byte.SIZE]; // color + 1, 0 = not used
+        for (final byte c : chars) {
+            char2ColorLookup[c & 0xff] = 1;
+        }
+        byte b = 0;
+        for (int c = 0;  c < char2ColorLookup.length;  ++c) { // ascending order of characters, same as in importString
+            if (0 != char2ColorLookup[c]) {
+                if (b == MAX_NUMBER_OF_COLORS) {
+                    throw new IllegalArgumentException("more than " + MAX_NUMBER_OF_COLORS + " color values found in input: \"" + new String(chars, StandardCharsets.ISO_8859_1) + "\"");
+                }
+                final Character character = Character.valueOf((char)c);
+                final Byte color = Byte.valueOf(b);
+                this.char2Color.put(character, color);
+                this.color2Char.put(color, character);
+                char2ColorLookup[c] = ++b;
+            }
+        }
+        for (int i = 0;  i < chars.length;  ++i) {
+            this.cells[i] = (byte)(char2ColorLookup[chars[i] & 0xff] - 1);
+        }
+    }
+
     public String solutionToString(byte[] steps) {
         final StringBuilder result = new StringBuilder();
         for (final byte color : steps) {
@@ -157,6 +187,33 @@ public class Board {
         this.determineColorAreasDepth(startPos);
     }
 
+    /**
+     * construct a new Board from the characters of its text representation and set the start position.
+     * this is the same as Board(String, int), but it reads the characters (one byte each, without whitespace)
+     * directly from the array, so it's suitable for reading many boards from a file.
+     * 
+     * @param cellChars one character for each cell in a square grid, the length must be a square number
+     * @param startPos
+     */
+    public Board(final byte[] cellChars, final int startPos) {
+        final int len = cellChars.length;
+        this.cells = new byte[len];
+        this.width = (int)Math.sqrt(len);
+        this.height = this.width;
+        if (this.width * this.height != len) {
+            throw new IllegalArgumentException("length of input is not a square number: " + len);
+        }
+        this.char2Color = new TreeMap<Character, Byte>();
+        this.color2Char = new TreeMap<Byte, Character>();
+        this.importChars(cellChars);
+        this.colors = this.char2Color.size();
+        this.cellsColorAreas = new ColorArea[len];
+        this.casByColorBits = new long[1 << this.colors][];
+        this.colorAreas = new TreeSet<ColorArea>();
+        this.colorAreas.addAll(this.createColorAreas());
+        this.determineColorAreasDepth(startPos);
+    }
+
     /**
      * construct a new Board from values and text representation and set the start position.
      * warning: may throw an exception if the specified parameters are inconsistent!
@@ -242,7 +299,13 @@ public class Board {
         for (int i = 0;  i < this.casByColorBits.length;  ++i) {
             this.casByColorBits[i] = ColorAreaSet.constructor(this);
         }
-        for (final ColorArea ca : result) {
+        // in the order of their first cells, not in the order of the HashSet, so the ID's are the same
+        // in each run of the program; they are part of the search states that AStarCheckpoint stores in a file
+        for (int cell = 0;  cell < this.cellsColorAreas.length;  ++cell) {
+            final ColorArea ca = this.cellsColorAreas[cell];
+            if (ca.getMembers().first().intValue() != cell) {
+                continue; // for (cell)
+            }
             ca.setId(id++);
             this.idsColorAreas[ca.getId()] = ca;
             this.idsMemberSize[ca.getId()] = ca.getMemberSize();
@@ -266,6 +329,7 @@ public class Board {
         for (final ColorArea ca : result) {
             this.idsNeighborColorAreaSets[ca.getId()] = ca.getNeighborsColorAreaSet();
         }
+        this.idsNeighborSparseLookup = null; // created on demand
         return result;
     }
 
@@ -439,6 +503,16 @@ public class Board {
         return this.idsNeighborColorAreaSets;
     }
 
+    /**
+     * @return the neighbor sets of all ColorAreas, the same as getNeighborColorAreaSet4IdArray(), as a sparse lookup table
+     */
+    public synchronized ColorAreaSet.SparseLookup getNeighborSparseLookup() {
+        if (null == this.idsNeighborSparseLookup) {
+            this.idsNeighborSparseLookup = new ColorAreaSet.SparseLookup(this.idsNeighborColorAreaSets);
+        }
+        return this.idsNeighborSparseLookup;
+    }
+
     public int[] getMemberSize4IdArray() {
         return this.idsMemberSize;
     }
@@ -31,6 +31,14 @@ import java.util.Arrays;
  */
 public final class ColorAreaSet {
 
+    /**
+     * the boards with at least this number of elements (64 ColorAreas each) in a set should use SparseLookup.
+     * on smaller boards the loop over all elements is faster, because it's vectorized by the JIT compiler.
+     * Board numbers the ColorAreas in the order of their first cells, so the neighbors of a ColorArea
+     * have nearby ID's and its neighbor set has only a few non-zero elements.
+     */
+    public static final int SPARSE_LOOKUP_MIN_LENGTH = 16;
+
     private ColorAreaSet() {
         throw new IllegalStateException("can't create any objects of this class!");
     }
@@ -212,6 +220,84 @@ public final class ColorAreaSet {
         }
     }
 
+    /**
+     * add all ColorAreaSets indexed by the other set in the sparse lookup table, to this set.
+     * this is faster than addAllLookup() with the array of ColorAreaSets on wide boards,
+     * where each of the ColorAreaSets in the table has only a few non-zero elements.
+     */
+    public static void addAllLookup(final long[] casThis, final long[] casOther, final SparseLookup lookup) {
+        final int[] start = lookup.start, index = lookup.index;
+        final long[] bits = lookup.bits;
+        for (int o = 0;  o < casOther.length;  ++o) {
+            long buf = casOther[o];
+            final int offset = (o << 6);
+            while (buf != 0) {
+                final int id = offset + Long.numberOfTrailingZeros(buf);
+                buf &= buf - 1; // clear the least significant bit set
+                for (int k = start[id], end = start[id + 1];  k < end;  ++k) {
+                    casThis[index[k]] |= bits[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * add all ColorAreaSets indexed by the AND-combined other two sets in the sparse lookup table, to this set.
+     * this is faster than addAllAndLookup() with the array of ColorAreaSets on wide boards,
+     * where each of the ColorAreaSets in the table has only a few non-zero elements.
+     */
+    public static void addAllAndLookup(final long[] casThis, final long[] casOtherOne, final long[] casOtherTwo, final SparseLookup lookup) {
+        final int[] start = lookup.start, index = lookup.index;
+        final long[] bits = lookup.bits;
+        for (int o = 0;  o < casOtherOne.length;  ++o) {
+            long buf = (casOtherOne[o] & casOtherTwo[o]);
+            final int offset = (o << 6);
+            while (buf != 0) {
+                final int id = offset + Long.numberOfTrailingZeros(buf);
+                buf &= buf - 1; // clear the least significant bit set
+                for (int k = start[id], end = start[id + 1];  k < end;  ++k) {
+                    casThis[index[k]] |= bits[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * a lookup table of ColorAreaSets that stores only their non-zero elements.
+     * the elements of ColorAreaSet number "id" are at positions start[id] ... start[id+1]-1
+     * of the arrays "index" (the index of the element in the ColorAreaSet) and "bits" (its value).
+     */
+    public static final class SparseLookup {
+        private final int[] start, index;
+        private final long[] bits;
+
+        /**
+         * create the sparse lookup table from this array of ColorAreaSets.
+         */
+        public SparseLookup(final long[][] casLookup) {
+            this.start = new int[casLookup.length + 1];
+            int size = 0;
+            for (int id = 0;  id < casLookup.length;  ++id) {
+                this.start[id] = size;
+                for (final long l : casLookup[id]) {
+                    size += (0 != l ? 1 : 0);
+                }
+            }
+            this.start[casLookup.length] = size;
+            this.index = new int[size];
+            this.bits = new long[size];
+            for (int id = 0, k = 0;  id < casLookup.length;  ++id) {
+                final long[] cas = casLookup[id];
+                for (int i = 0;  i < cas.length;  ++i) {
+                    if (0 != cas[i]) {
+                        this.index[k] = i;
+                        this.bits[k++] = cas[i];
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * an Iterator over one ColorAreaSet that returns the IDs of the member ColorArea objects
      */
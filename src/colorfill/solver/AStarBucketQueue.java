@@ -0,0 +1,299 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * the open list of the AStar (A*) solver, implemented as a two-level bucket queue.
+ * <p>
+ * the nodes are grouped by their estimatedCost (first level) and solutionSize (second level).
+ * both values are small integers, so the buckets can be indexed directly and offer/poll
+ * run in (amortized) constant time, instead of O(log n) of a binary heap like PriorityQueue.
+ * <p>
+ * the nodes are not stored as AStarNode objects, but as plain int values (flooded, neighbors, solutionEntry)
+ * in memory chunks that are recycled, to avoid the per-object overhead of many millions of nodes.
+ * the polling order is the same as the one defined by AStarNode.strongerComparator():
+ * lowest estimatedCost first and then highest solutionSize first.
+ */
+public class AStarBucketQueue {
+
+    private static final int NUM_SOLUTION_SIZES = AbstractSolver.MAX_SEARCH_DEPTH + 1;
+    private static final int INTS_PER_NODE      = 3; // flooded, neighbors, solutionEntry
+    private static final int CHUNK_SHIFT        = 10; // CONFIGURE THIS
+    private static final int CHUNK_NODES        = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK         = CHUNK_NODES - 1;
+
+    private Bucket[][] buckets = new Bucket[NUM_SOLUTION_SIZES][]; // [estimatedCost][solutionSize]
+    private int[] rowSize = new int[NUM_SOLUTION_SIZES];           // number of nodes for each estimatedCost
+    private int[] rowMaxSolutionSize = new int[NUM_SOLUTION_SIZES];// highest solutionSize for each estimatedCost
+    private int minEstimatedCost = Integer.MAX_VALUE;
+    private int maxEstimatedCost = -1;
+    private long size, maxSize;
+    private int[][] freeChunks = new int[16][];
+    private int numFreeChunks;
+    private long numAllocatedChunks;
+
+    /**
+     * add the data of this node to the queue.
+     * the node object is not referenced by the queue, so it can be reused by the caller.
+     */
+    public void offer(final AStarNode node) {
+        final int estimatedCost = node.getEstimatedCost();
+        final int solutionSize = node.getSolutionSize();
+        if (estimatedCost >= this.buckets.length) {
+            final int newLength = Math.max(estimatedCost + 1, this.buckets.length * 2);
+            this.buckets = Arrays.copyOf(this.buckets, newLength);
+            this.rowSize = Arrays.copyOf(this.rowSize, newLength);
+            this.rowMaxSolutionSize = Arrays.copyOf(this.rowMaxSolutionSize, newLength);
+        }
+        Bucket[] row = this.buckets[estimatedCost];
+        if (null == row) {
+            row = this.buckets[estimatedCost] = new Bucket[NUM_SOLUTION_SIZES];
+        }
+        Bucket bucket = row[solutionSize];
+        if (null == bucket) {
+            bucket = row[solutionSize] = new Bucket();
+        }
+        bucket.push(node.getFlooded(), node.getNeighbors(), node.getSolutionEntry(), this);
+        if ((0 == this.rowSize[estimatedCost]++) || (this.rowMaxSolutionSize[estimatedCost] < solutionSize)) {
+            this.rowMaxSolutionSize[estimatedCost] = solutionSize;
+        }
+        if (this.minEstimatedCost > estimatedCost) {
+            this.minEstimatedCost = estimatedCost;
+        }
+        if (this.maxEstimatedCost < estimatedCost) {
+            this.maxEstimatedCost = estimatedCost;
+        }
+        if (++this.size > this.maxSize) {
+            this.maxSize = this.size;
+        }
+    }
+
+    /**
+     * remove the first node from the queue and copy its data into the specified node object.
+     * @param node receives the data
+     * @return false if the queue is empty
+     */
+    public boolean poll(final AStarNode node) {
+        if (0 == this.size) {
+            return false;
+        }
+        final int estimatedCost = this.minEstimatedCost;
+        int solutionSize = this.rowMaxSolutionSize[estimatedCost];
+        final Bucket[] row = this.buckets[estimatedCost];
+        row[solutionSize].pop(node, solutionSize, estimatedCost, this);
+        --this.size;
+        if (0 == --this.rowSize[estimatedCost]) {
+            // this row is empty now, so find the next row
+            if (0 == this.size) {
+                this.minEstimatedCost = Integer.MAX_VALUE;
+                this.maxEstimatedCost = -1;
+            } else {
+                int next = estimatedCost + 1;
+                while (0 == this.rowSize[next]) {
+                    ++next;
+                }
+                this.minEstimatedCost = next;
+            }
+        } else {
+            // find the next bucket in this row
+            while ((null == row[solutionSize]) || (0 == row[solutionSize].size)) {
+                --solutionSize;
+            }
+            this.rowMaxSolutionSize[estimatedCost] = solutionSize;
+        }
+        return true;
+    }
+
+    /**
+     * get the estimatedCost of the first node in the queue.
+     * @return estimatedCost, or Integer.MAX_VALUE if the queue is empty
+     */
+    public int peekEstimatedCost() {
+        return this.minEstimatedCost;
+    }
+
+    /**
+     * remove all nodes from the queue.
+     */
+    public void clear() {
+        for (int estimatedCost = 0;  estimatedCost <= this.maxEstimatedCost;  ++estimatedCost) {
+            final Bucket[] row = this.buckets[estimatedCost];
+            if (null != row) {
+                for (final Bucket bucket : row) {
+                    if (null != bucket) {
+                        bucket.clear(this);
+                    }
+                }
+            }
+            this.rowSize[estimatedCost] = 0;
+        }
+        this.minEstimatedCost = Integer.MAX_VALUE;
+        this.maxEstimatedCost = -1;
+        this.size = 0;
+    }
+
+    /**
+     * @return number of nodes in the queue
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * @return highest number of nodes that have been in the queue at the same time
+     */
+    public long getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * @return true if the queue is empty
+     */
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * @return the highest estimatedCost of all nodes that have been added, or -1 if the queue is empty
+     */
+    public int getMaxEstimatedCost() {
+        return this.maxEstimatedCost;
+    }
+
+    /**
+     * @return number of nodes with these values, in the queue
+     */
+    public int size(final int estimatedCost, final int solutionSize) {
+        final Bucket[] row = (estimatedCost < this.buckets.length ? this.buckets[estimatedCost] : null);
+        final Bucket bucket = (null == row ? null : row[solutionSize]);
+        return (null == bucket ? 0 : bucket.size);
+    }
+
+    /**
+     * @return number of bytes allocated by the memory chunks of this queue
+     */
+    public long getSizeBytes() {
+        return this.numAllocatedChunks * CHUNK_NODES * INTS_PER_NODE * Integer.BYTES;
+    }
+
+    /**
+     * write the nodes of all buckets, for AStarCheckpoint.
+     * each bucket is written from the bottom of its stack, so read() restores the same order.
+     */
+    void write(final DataOutput out) throws IOException {
+        for (int estimatedCost = 0;  estimatedCost <= this.maxEstimatedCost;  ++estimatedCost) {
+            final Bucket[] row = this.buckets[estimatedCost];
+            for (int solutionSize = 0;  (null != row) && (solutionSize < NUM_SOLUTION_SIZES);  ++solutionSize) {
+                final Bucket bucket = row[solutionSize];
+                if ((null != bucket) && (0 != bucket.size)) {
+                    out.writeInt(estimatedCost);
+                    out.writeInt(solutionSize);
+                    out.writeInt(bucket.size);
+                    for (int i = 0;  i < bucket.size;  ++i) {
+                        final int[] chunk = bucket.chunks[i >>> CHUNK_SHIFT];
+                        final int offset = (i & CHUNK_MASK) * INTS_PER_NODE;
+                        out.writeInt(chunk[offset]);
+                        out.writeInt(chunk[offset + 1]);
+                        out.writeInt(chunk[offset + 2]);
+                    }
+                }
+            }
+        }
+        out.writeInt(-1); // end marker
+    }
+
+    /**
+     * read the nodes written by write(), into this empty queue.
+     */
+    void read(final DataInput in) throws IOException {
+        final AStarNode node = new AStarNode();
+        for (int estimatedCost;  (estimatedCost = in.readInt()) >= 0;  ) {
+            final int solutionSize = in.readInt();
+            for (int i = in.readInt();  i > 0;  --i) {
+                node.set(in.readInt(), in.readInt(), in.readInt(), solutionSize, estimatedCost);
+                this.offer(node);
+            }
+        }
+    }
+
+    private int[] allocateChunk() {
+        if (this.numFreeChunks > 0) {
+            final int[] result = this.freeChunks[--this.numFreeChunks];
+            this.freeChunks[this.numFreeChunks] = null;
+            return result;
+        }
+        ++this.numAllocatedChunks;
+        return new int[CHUNK_NODES * INTS_PER_NODE];
+    }
+
+    private void releaseChunk(final int[] chunk) {
+        if (this.freeChunks.length <= this.numFreeChunks) {
+            this.freeChunks = Arrays.copyOf(this.freeChunks, this.freeChunks.length * 2);
+        }
+        this.freeChunks[this.numFreeChunks++] = chunk;
+    }
+
+    /**
+     * the nodes with the same estimatedCost and solutionSize, stored in a stack of memory chunks.
+     */
+    private static class Bucket {
+        private int[][] chunks = new int[1][];
+        private int numChunks;
+        private int size;
+
+        private void push(final int flooded, final int neighbors, final int solutionEntry, final AStarBucketQueue queue) {
+            final int index = this.size & CHUNK_MASK;
+            if (0 == index) {
+                if (this.chunks.length <= this.numChunks) {
+                    this.chunks = Arrays.copyOf(this.chunks, this.chunks.length * 2);
+                }
+                this.chunks[this.numChunks++] = queue.allocateChunk();
+            }
+            final int[] chunk = this.chunks[this.numChunks - 1];
+            final int offset = index * INTS_PER_NODE;
+            chunk[offset] = flooded;
+            chunk[offset + 1] = neighbors;
+            chunk[offset + 2] = solutionEntry;
+            ++this.size;
+        }
+
+        private void pop(final AStarNode node, final int solutionSize, final int estimatedCost, final AStarBucketQueue queue) {
+            final int index = --this.size & CHUNK_MASK;
+            final int[] chunk = this.chunks[this.numChunks - 1];
+            final int offset = index * INTS_PER_NODE;
+            node.set(chunk[offset], chunk[offset + 1], chunk[offset + 2], solutionSize, estimatedCost);
+            if (0 == index) {
+                this.chunks[--this.numChunks] = null;
+                queue.releaseChunk(chunk);
+            }
+        }
+
+        private void clear(final AStarBucketQueue queue) {
+            while (this.numChunks > 0) {
+                queue.releaseChunk(this.chunks[--this.numChunks]);
+                this.chunks[this.numChunks] = null;
+            }
+            this.size = 0;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import colorfill.model.Board;
+import colorfill.solver.AStarSolver.HashMapLongArray2Byte;
+import colorfill.solver.AStarSolver.SolutionTree;
+import colorfill.solver.AStarSolver.StateStorage;
+
+/**
+ * the checkpoint of an AStar (A*) search, stored in a file: the open queue, StateStorage,
+ * SolutionTree and the closed set (hash table), and the parameters of the search.
+ * the search can be resumed from it after the JVM has been stopped, also on another machine.
+ * <p>
+ * the file format is a binary stream of DataOutputStream (big-endian):
+ * a header that identifies the board and the search, followed by the data structures,
+ * each one written by its own write() method. empty slots of the hash table and
+ * the unused parts of the memory blocks are not written.
+ */
+final class AStarCheckpoint implements AutoCloseable {
+
+    private static final int MAGIC = 0x43466370; // "CFcp"
+    private static final int VERSION = 3;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final DataInputStream in;
+    private final int weight, numRestarts;
+    private final boolean isAnytime;
+    private final byte[] solution;
+
+    private AStarCheckpoint(final DataInputStream in, final int weight, final int numRestarts, final boolean isAnytime, final byte[] solution) {
+        this.in = in;
+        this.weight = weight;
+        this.numRestarts = numRestarts;
+        this.isAnytime = isAnytime;
+        this.solution = solution;
+    }
+
+    /**
+     * @return the checkpoint file of this board in the directory
+     */
+    static Path getFile(final Path directory, final Board board, final int startPos) {
+        long hash = startPos;
+        for (final char c : board.toStringCells().toCharArray()) {
+            hash = hash * 0x100000001b3L ^ c; // FNV-1
+        }
+        return directory.resolve(String.format("colorfill_%dx%d_%016x.checkpoint", board.getWidth(), board.getHeight(), hash));
+    }
+
+    /**
+     * open the checkpoint file and read its header.
+     * @param symmetry true if the keys of the closed set are the canonical forms of the states (see BoardSymmetry)
+     * @return the checkpoint, positioned at the data structures, or null if there is no matching checkpoint file
+     */
+    static AStarCheckpoint open(final Path file, final Board board, final int startPos, final String solverName, final boolean compact,
+            final boolean symmetry) {
+        if (false == Files.isRegularFile(file)) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            if ((MAGIC != in.readInt()) || (VERSION != in.readInt())
+                    || (false == board.toStringCells().equals(readString(in))) || (startPos != in.readInt())
+                    || (false == solverName.equals(readString(in))) || (compact != in.readBoolean())
+                    || (symmetry != in.readBoolean()) || (board.getSizeColorAreas64() != in.readInt())) {
+                System.out.println("ignoring checkpoint file " + file + " because it doesn't match this search");
+                in.close();
+                return null;
+            }
+            final int weight = in.readInt();
+            final boolean isAnytime = in.readBoolean();
+            final int numRestarts = in.readInt();
+            final int solutionLength = in.readInt();
+            byte[] solution = null;
+            if (solutionLength >= 0) {
+                solution = new byte[solutionLength];
+                in.readFully(solution);
+            }
+            return new AStarCheckpoint(in, weight, numRestarts, isAnytime, solution);
+        } catch (IOException e) {
+            if (null != in) {
+                try {
+                    in.close();
+                } catch (IOException e2) {
+                    // ignore
+                }
+            }
+            throw new IllegalStateException("can't read the checkpoint file " + file, e);
+        }
+    }
+
+    /**
+     * read the data structures, which must be empty.
+     */
+    void read(final StateStorage storage, final SolutionTree solutionTree, final HashMapLongArray2Byte map, final AStarBucketQueue open) {
+        try {
+            storage.read(this.in);
+            solutionTree.read(this.in);
+            map.read(this.in);
+            open.read(this.in);
+        } catch (IOException e) {
+            throw new IllegalStateException("can't read the checkpoint file", e);
+        }
+    }
+
+    int getWeight() {
+        return this.weight;
+    }
+
+    int getNumRestarts() {
+        return this.numRestarts;
+    }
+
+    boolean isAnytime() {
+        return this.isAnytime;
+    }
+
+    /**
+     * @return the best solution known when the checkpoint was written, or null
+     */
+    byte[] getSolution() {
+        return this.solution;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.in.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * write the checkpoint of the search. it's written to a temporary file first, which then replaces
+     * the checkpoint file, so there is always a complete checkpoint file, even if the JVM is stopped while writing.
+     * @param solution the best solution known so far, or null
+     */
+    static void write(final Path file, final Board board, final int startPos, final String solverName, final boolean compact,
+            final boolean symmetry, final int weight, final boolean isAnytime, final int numRestarts, final byte[] solution,
+            final StateStorage storage, final SolutionTree solutionTree, final HashMapLongArray2Byte map, final AStarBucketQueue open) throws IOException {
+        final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, board.toStringCells());
+            out.writeInt(startPos);
+            writeString(out, solverName);
+            out.writeBoolean(compact);
+            out.writeBoolean(symmetry);
+            out.writeInt(board.getSizeColorAreas64());
+            out.writeInt(weight);
+            out.writeBoolean(isAnytime);
+            out.writeInt(numRestarts);
+            if (null == solution) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(solution.length);
+                out.write(solution);
+            }
+            storage.write(out);
+            solutionTree.write(out);
+            map.write(out);
+            open.write(out);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * delete the checkpoint file, if it exists, and the temporary file left over by an interrupted write().
+     */
+    static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".tmp"));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8); // not writeUTF(), which is limited to 64 KiB
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if ((length < 0) || (length > BUFFER_SIZE)) {
+            throw new IOException("invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -88,7 +88,7 @@ public class AStarFlolleStrategy extends AStarPuchertStrategy {
                     ColorAreaSet.clear(next);
                     // completed colors
                     final long[] colorCas = this.casByColorBits[completedColors];
-                    ColorAreaSet.addAllAndLookup(next, current, colorCas, this.idsNeighborColorAreaSets);
+                    this.addAllAndLookup(next, current, colorCas);
                     ColorAreaSet.removeAll(current, colorCas);
                     ColorAreaSet.removeAll(next, this.casVisited);
                     // non-completed colors
@@ -104,7 +104,7 @@ public class AStarFlolleStrategy extends AStarPuchertStrategy {
                 for (int colors = nonCompletedColors;  0 != colors;  colors &= colors - 1) {
                     final int colorBit = Integer.lowestOneBit(colors);
                     ColorAreaSet.clear(next);
-                    ColorAreaSet.addAllAndLookup(next, current, this.casByColorBits[colorBit], this.idsNeighborColorAreaSets);
+                    this.addAllAndLookup(next, current, this.casByColorBits[colorBit]);
                     ColorAreaSet.removeAll(next, this.casVisited);
                     int size = 0;
                     this.iter.init(next);
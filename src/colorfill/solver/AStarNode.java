@@ -64,13 +64,33 @@ public class AStarNode {
         this.packedData = DATA_MASK_SOLUTION_SIZE; // estimatedCost=0, solutionSize=0xffff=~zero
     }
 
+    /**
+     * constructor for a node whose data has been stored already.
+     */
+    public AStarNode(final int flooded, final int neighbors, final int solutionEntry, final int solutionSize) {
+        this.flooded = flooded;
+        this.neighbors = neighbors;
+        this.solutionEntry = solutionEntry;
+        this.packedData = DATA_MASK_SOLUTION_SIZE & ~solutionSize; // estimatedCost=0, solutionSize in ones' complement
+    }
+
     /**
      * empty constructor.
      */
-    private AStarNode() {
+    public AStarNode() {
         // nothing
     }
 
+    /**
+     * set all data fields of this node.
+     */
+    public void set(final int flooded, final int neighbors, final int solutionEntry, final int solutionSize, final int estimatedCost) {
+        this.flooded = flooded;
+        this.neighbors = neighbors;
+        this.solutionEntry = solutionEntry;
+        this.packedData = (estimatedCost << DATA_SHIFT_ESTIMATED_COST) | (DATA_MASK_SOLUTION_SIZE & ~solutionSize);
+    }
+
     /**
      * recycle the specified AStarNode object or create a new one if it's null.
      */
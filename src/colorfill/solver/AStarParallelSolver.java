@@ -0,0 +1,634 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import colorfill.model.Board;
+import colorfill.model.ColorArea;
+import colorfill.model.ColorAreaSet;
+import colorfill.solver.AStarSolver.HashMapLongArray2Byte;
+import colorfill.solver.AStarSolver.SolutionTree;
+import colorfill.solver.AStarSolver.StateStorage;
+
+/**
+ * a solver implementation that runs the AStar (A*) algorithm on several threads.
+ * <p>
+ * it follows the idea of "Hash Distributed A*" (HDA*) by Kishimoto, Fukunaga and Botea:
+ * each worker thread owns a part of the search space, which is selected by the hash value
+ * of the flooded set. a worker expands the nodes in its own open list and sends the successor
+ * nodes in batches to the workers that own them. the owner performs the duplicate detection
+ * in its own closed set, computes the cost estimation and adds the node to its own open list.
+ * <p>
+ * the search ends when no worker has a node left that could lead to a shorter solution,
+ * so the result is optimal if the strategy is admissible (like AStarPuchertStrategy).
+ */
+public class AStarParallelSolver extends AbstractSolver {
+
+    private static final int BATCH_SIZE = 64;               // nodes per message; CONFIGURE THIS
+    private static final int FLUSH_INTERVAL_MASK = 0xff;    // send all pending messages after this number of expansions; CONFIGURE THIS
+    private static final long IDLE_PARK_NANOS = 50000L;     // wait time of an idle worker; CONFIGURE THIS
+    private static final int MIN_FIRST_BLOCK_SIZE = 1 << 12; // smallest first memory block of a worker, in number of "long"
+
+    /**
+     * the threads of the workers, reused for the following boards. all workers of a board must run at the same time,
+     * and several boards may be solved concurrently (BatchRunner), so the pool creates a new thread when none is idle.
+     */
+    private static final ExecutorService workerThreads = Executors.newCachedThreadPool(new ThreadFactory() {
+        private int count = 0;
+        @Override
+        public synchronized Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, AStarParallelSolver.class.getSimpleName() + "-" + this.count++);
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private Class<? extends AStarStrategy> strategyClass = AStarPuchertStrategy.class; // default
+    private final int numThreads;
+    private Worker[] workers;
+    private volatile boolean aborted;
+    private volatile Throwable workerError;
+    private volatile boolean memoryExceeded;
+    private AStarSolver fallback; // the sequential solver that's used when the memory budget has been exceeded
+
+    /** number of nodes that have been sent (or initially assigned) but not yet been acknowledged by their receivers */
+    private final AtomicLong outstanding = new AtomicLong();
+    /** size of the best solution found so far */
+    private final AtomicInteger bestSize = new AtomicInteger();
+    private long bestPrevious;      // global solution entry of the node that lead to the best solution
+    private byte[] bestLastColors;  // the final move(s) of the best solution
+
+    /**
+     * construct a new solver for this Board.
+     * @param board the problem to be solved
+     * @param numThreads number of worker threads
+     */
+    protected AStarParallelSolver(final Board board, final int numThreads) {
+        super(board);
+        this.numThreads = Math.max(1, numThreads);
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#setStrategy(java.lang.Class)
+     */
+    @Override
+    public void setStrategy(final Class<? extends Strategy> strategyClass) {
+        if (false == AStarStrategy.class.isAssignableFrom(strategyClass)) {
+            throw new IllegalArgumentException(
+                    "unsupported strategy class " + strategyClass.getName()
+                    + "! " + this.getClass().getSimpleName() + " supports " + AStarStrategy.class.getSimpleName() + " only.");
+        }
+        this.strategyClass = strategyClass.asSubclass(AStarStrategy.class);
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#getSolverName()
+     */
+    @Override
+    public String getSolverName() {
+        return this.strategyClass.getSimpleName();
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#getSolverInfo()
+     */
+    @Override
+    public String getSolverInfo() {
+        if (null != this.fallback) {
+            return this.fallback.getSolverInfo() + " (parallel search exceeded the memory budget)";
+        }
+        if (null == this.workers) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append(this.getSolverName()).append(" threads=").append(this.numThreads).append(" expanded=");
+        long numStates = 0, storageBytes = 0, mapBytes = 0;
+        for (final Worker worker : this.workers) {
+            sb.append(worker.numExpanded).append(worker.id < this.workers.length - 1 ? "," : "");
+            numStates += worker.map.size();
+            storageBytes += worker.storage.getUsedBytes();
+            mapBytes += worker.map.getSizeBytes();
+        }
+        sb.append(' ').append(AStarSolver.getMemoryInfo(numStates, storageBytes, mapBytes)).append(this.isTimeLimitExceeded() ? " mode=timeLimit" : " mode=optimal");
+        return sb.toString();
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.AbstractSolver#executeInternal(int)
+     */
+    @Override
+    protected void executeInternal(final int startPos) throws InterruptedException {
+        this.aborted = false;
+        this.workerError = null;
+        this.memoryExceeded = false;
+        this.fallback = null;
+        AStarSolver.addUpperBoundSolution(this, startPos);
+        this.bestSize.set(this.solutionSize); // only a shorter solution than the previous one is of interest
+        this.bestLastColors = null;
+        this.workers = new Worker[this.numThreads];
+        for (int i = 0;  i < this.numThreads;  ++i) {
+            this.workers[i] = new Worker(i);
+        }
+        this.outstanding.set(1); // the start node, assigned to worker 0
+        this.workers[0].addStartNode(startPos);
+
+        final Future<?>[] futures = new Future<?>[this.numThreads];
+        for (int i = 0;  i < this.numThreads;  ++i) {
+            futures[i] = workerThreads.submit(this.workers[i]);
+        }
+        boolean interrupted = false;
+        for (final Future<?> future : futures) {
+            for (;;) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    this.aborted = true; // stop all workers
+                } catch (ExecutionException e) {
+                    break; // not expected: Worker.run() stores its errors in workerError
+                }
+            }
+        }
+        this.collectMetrics();
+        for (final Worker worker : this.workers) {
+            worker.storage.close();
+            AStarSolver.addMemoryBytesInUse(-worker.reportedMemoryBytes);
+        }
+        if (interrupted) {
+            throw new InterruptedException();
+        }
+        if (this.memoryExceeded || (this.workerError instanceof OutOfMemoryError)) {
+            // release the memory of all workers and continue with the sequential weighted A* search,
+            // starting from the best solution found so far, and within the time limit of this run
+            if (null != this.bestLastColors) {
+                this.addSolution(this.materialize(this.bestPrevious, this.bestLastColors, this.bestSize.get()));
+                this.bestLastColors = null;
+            }
+            this.workers = null;
+            this.workerError = null;
+            this.fallback = new AStarSolver(this.board);
+            this.fallback.setStrategy(this.strategyClass);
+            this.fallback.setFirstWeight(2);
+            this.fallback.setDeadlineOf(this);
+            this.fallback.execute(startPos, (this.solutions.isEmpty() ? null : this.getSolution()));
+            ++this.metrics.memoryRestarts;
+            this.metrics.add(this.fallback.getMetrics());
+            if (false == this.fallback.solutions.isEmpty()) {
+                this.addSolution(this.fallback.getSolution().getSteps());
+            }
+            this.isTimeUp(); // the fallback may have been stopped by the deadline of this run
+            return;
+        }
+        if (null != this.workerError) {
+            if (this.workerError instanceof RuntimeException) {
+                throw (RuntimeException)this.workerError;
+            } else if (this.workerError instanceof Error) {
+                throw (Error)this.workerError;
+            }
+            throw new IllegalStateException(this.workerError);
+        }
+        if (null != this.bestLastColors) {
+            this.addSolution(this.materialize(this.bestPrevious, this.bestLastColors, this.bestSize.get()));
+        }
+    }
+
+    /**
+     * add the metrics of all workers to the metrics of this solver.
+     * the data structures of all workers exist at the same time, so their sizes are summed up.
+     */
+    private void collectMetrics() {
+        long storageBytes = 0, peakOpenSize = 0;
+        for (final Worker worker : this.workers) {
+            worker.metrics.nodesExpanded = worker.numExpanded;
+            worker.metrics.solutionTreeEntries = worker.solutionTree.size();
+            worker.metrics.hashTableResizes = worker.map.getNumResizes();
+            worker.metrics.keyCompares = worker.map.getNumKeyCompares();
+            worker.metrics.hashCollisions = worker.map.getNumHashCollisions();
+            this.metrics.add(worker.metrics);
+            storageBytes += worker.storage.getSizeBytes();
+            peakOpenSize += worker.open.getMaxSize();
+        }
+        this.metrics.storageBytes = storageBytes;
+        this.metrics.peakOpenSize = peakOpenSize;
+    }
+
+    /**
+     * store the best solution found so far.
+     */
+    private synchronized void offerSolution(final long previous, final byte[] lastColors, final int size) {
+        if (size < this.bestSize.get()) {
+            this.bestPrevious = previous;
+            this.bestLastColors = lastColors;
+            this.bestSize.set(size);
+        }
+    }
+
+    /**
+     * extract the solution from the solution trees of all workers.
+     * this must be done after all workers have finished.
+     */
+    private byte[] materialize(long entry, final byte[] lastColors, final int size) {
+        final byte[] result = new byte[size];
+        System.arraycopy(lastColors, 0, result, size - lastColors.length, lastColors.length);
+        for (int i = size - lastColors.length - 1;  i >= 0;  --i) {
+            final int localEntry = (int)entry;
+            result[i] = (byte)(localEntry & SolutionTree.COLOR_BIT_MASK);
+            entry = this.workers[(int)(entry >>> Integer.SIZE)].solutionTree.getPrevious(localEntry);
+        }
+        return result;
+    }
+
+    /**
+     * get the initial size of the first memory block of the StateStorage and of the WorkerSolutionTree of a worker.
+     * each one is at most 1/8 of the share of the memory budget of the worker, so that a small budget
+     * is not used up by the workers before they start; the block grows up to its normal size.
+     * @param maxSize the normal size of a memory block (number of "long")
+     * @return size of the first memory block (number of "long"), a power of two
+     */
+    private int getFirstBlockSize(final int maxSize) {
+        final long memoryShare = AStarSolver.getMemoryBudget() / this.numThreads;
+        final long size = Long.highestOneBit(Math.max(1, memoryShare / 8 / Long.BYTES));
+        return (int)Math.max(MIN_FIRST_BLOCK_SIZE, Math.min(maxSize, size));
+    }
+
+    /**
+     * the thread that owns a part of the search space.
+     */
+    private class Worker implements Runnable {
+        private final int id;
+        private final StateStorage storage;
+        private final HashMapLongArray2Byte map;
+        private final AStarStrategy strategy;
+        private final WorkerSolutionTree solutionTree;
+        private final AStarBucketQueue open = new AStarBucketQueue();
+        private final AStarNode currentNode = new AStarNode(), nextNode = new AStarNode();
+        private final SolverMetrics metrics = new SolverMetrics();
+        private final Queue<Batch> mailbox = new ConcurrentLinkedQueue<Batch>();
+        private final Batch[] outbox;
+        private final ColorAreaSet.IteratorAnd iterAnd = new ColorAreaSet.IteratorAnd();
+        private final long[][] casByColorBits, idsNeighborColorAreaSets;
+        private final int allColorBits, stateSize, scratchNeighbors;
+        private final boolean compact;
+        private final long[] casFlooded, casNeighbors, casNextFlooded, casNextNeighbors;
+        private long numReceived, numExpanded;
+        private long reportedMemoryBytes; // the part of the memory of all A* searches that has been added by this worker
+
+        private Worker(final int id) {
+            final Board board = AStarParallelSolver.this.board;
+            this.id = id;
+            this.storage = AStarSolver.makeStateStorage(board, getFirstBlockSize(StateStorage.MEMORY_BLOCK_SIZE));
+            this.solutionTree = new WorkerSolutionTree(getFirstBlockSize(WorkerSolutionTree.MEMORY_BLOCK_SIZE));
+            this.map = new HashMapLongArray2Byte(board, this.storage, true); // the states of the other workers arrive out of order
+            this.strategy = AStarSolver.makeStrategy(AStarParallelSolver.this.strategyClass, board, this.storage);
+            this.outbox = new Batch[AStarParallelSolver.this.numThreads];
+            this.casByColorBits = board.getCasByColorBitsArray();
+            this.idsNeighborColorAreaSets = board.getNeighborColorAreaSet4IdArray();
+            this.allColorBits = this.casByColorBits.length - 1;
+            this.stateSize = board.getSizeColorAreas64();
+            this.casFlooded = ColorAreaSet.constructor(board);
+            this.casNeighbors = ColorAreaSet.constructor(board);
+            this.casNextFlooded = ColorAreaSet.constructor(board);
+            this.casNextNeighbors = ColorAreaSet.constructor(board);
+            this.storage.put(this.casFlooded); // reserve entry 0, because putIfLess() returns 0 for "not stored"
+            this.compact = AStarSolver.isCompactStates();
+            this.scratchNeighbors = (this.compact ? this.storage.put(this.casNeighbors) : 0);
+        }
+
+        private void addStartNode(final int startPos) {
+            final ColorArea startCa = AStarParallelSolver.this.board.getColorArea4Cell(startPos);
+            ColorAreaSet.add(this.casFlooded, startCa);
+            ColorAreaSet.addAll(this.casNeighbors, startCa.getNeighborsColorAreaSet());
+            final int flooded = this.storage.put(this.casFlooded);
+            final int neighbors = this.storage.put(this.casNeighbors);
+            this.open.offer(new AStarNode(flooded, neighbors, this.solutionTree.add(-1L, startCa.getColor()), 0));
+            this.numReceived = 1; // the start node is counted as a received node
+        }
+
+        @Override
+        public void run() {
+            try {
+                final AtomicLong outstanding = AStarParallelSolver.this.outstanding;
+                final AtomicInteger bestSize = AStarParallelSolver.this.bestSize;
+                final long memoryBudget = AStarSolver.getMemoryBudget(); // shared by all workers and all other A* searches
+                this.reportMemoryBytes();
+                while (false == AStarParallelSolver.this.aborted) {
+                    for (Batch batch;  null != (batch = this.mailbox.poll());  ) {
+                        this.receive(batch);
+                    }
+                    if (this.open.peekEstimatedCost() < bestSize.get()) {
+                        this.open.poll(this.currentNode);
+                        this.expand(this.currentNode);
+                        if (0 == (++this.numExpanded & FLUSH_INTERVAL_MASK)) {
+                            this.flushAll();
+                            if (this.reportMemoryBytes() > memoryBudget) {
+                                AStarParallelSolver.this.memoryExceeded = true;
+                                AStarParallelSolver.this.aborted = true;
+                            } else if (AStarParallelSolver.this.isTimeUp()) {
+                                AStarParallelSolver.this.aborted = true; // the result is the best solution found so far
+                            }
+                        }
+                    } else {
+                        // nothing useful to do: the nodes that remain in the open list can't lead to a shorter solution.
+                        this.open.clear();
+                        this.flushAll();
+                        if (0 != this.numReceived) {
+                            outstanding.addAndGet(-this.numReceived);
+                            this.numReceived = 0;
+                        }
+                        if (0 == outstanding.get()) {
+                            return; // all workers are idle and there are no messages in transit
+                        }
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                }
+            } catch (Throwable t) {
+                AStarParallelSolver.this.workerError = t;
+                AStarParallelSolver.this.aborted = true;
+            }
+        }
+
+        /**
+         * update the memory of all concurrent A* searches with the current memory of this worker.
+         * @return number of bytes allocated by all workers and all other A* searches that run at the same time
+         */
+        private long reportMemoryBytes() {
+            final long bytes = this.getMemoryBytes();
+            final long delta = bytes - this.reportedMemoryBytes;
+            this.reportedMemoryBytes = bytes;
+            return AStarSolver.addMemoryBytesInUse(delta);
+        }
+
+        /**
+         * @return number of bytes allocated by the data structures of this worker
+         */
+        private long getMemoryBytes() {
+            return this.storage.getSizeBytes() + this.solutionTree.getSizeBytes() + this.map.getSizeBytes() + this.open.getSizeBytes();
+        }
+
+        /**
+         * expand this node, i.e. play all possible colors and dispatch the resulting nodes to their owners.
+         */
+        private void expand(final AStarNode currentNode) {
+            this.storage.get(currentNode.getFlooded(), this.casFlooded);
+            int nonCompletedColors = this.allColorBits;
+            for (int colorBit = 1;  colorBit < this.casByColorBits.length;  colorBit <<= 1) {
+                if (ColorAreaSet.containsAll(this.casFlooded, this.casByColorBits[colorBit])) {
+                    nonCompletedColors ^= colorBit;
+                }
+            }
+            final int prevColorBit = 1 << (currentNode.getSolutionEntry() & SolutionTree.COLOR_BIT_MASK);
+            final long previous = ((long)this.id << Integer.SIZE) | (0xffffffffL & currentNode.getSolutionEntry());
+            if (this.compact) {
+                AStarSolver.recomputeNeighbors(this.casNeighbors, this.casFlooded, this.idsNeighborColorAreaSets);
+            } else {
+                this.storage.get(currentNode.getNeighbors(), this.casNeighbors);
+            }
+            final int nextSolutionSize = currentNode.getSolutionSize() + 1;
+            for (int colors = (nonCompletedColors & ~prevColorBit);  0 != colors;  colors &= colors - 1) {
+                final int colorBit = Integer.lowestOneBit(colors);
+                final long[] casColorBit = this.casByColorBits[colorBit];
+                if (false == ColorAreaSet.intersects(this.casNeighbors, casColorBit)) {
+                    continue; // for (colors)
+                }
+                if (false == AStarSolver.canPlay(colorBit, this.iterAnd.init(this.casNeighbors, casColorBit), prevColorBit, this.casFlooded, this.casByColorBits, this.idsNeighborColorAreaSets)) {
+                    ++this.metrics.canPlayPrunes;
+                } else {
+                    final byte color = (byte)Integer.numberOfTrailingZeros(colorBit);
+                    ColorAreaSet.copyFrom(this.casNextFlooded, this.casFlooded);
+                    ColorAreaSet.addAllAnd(this.casNextFlooded, this.casNeighbors, casColorBit);
+                    final int nextNonCompletedColors = (ColorAreaSet.containsAll(this.casNextFlooded, casColorBit) ? nonCompletedColors ^ colorBit : nonCompletedColors);
+                    // finished?
+                    if (0 == (nextNonCompletedColors & (nextNonCompletedColors - 1))) { // one or zero colors remaining
+                        if (0 != nextNonCompletedColors) {
+                            AStarParallelSolver.this.offerSolution(previous, new byte[] {color, (byte)Integer.numberOfTrailingZeros(nextNonCompletedColors)}, nextSolutionSize + 1);
+                        } else {
+                            AStarParallelSolver.this.offerSolution(previous, new byte[] {color}, nextSolutionSize);
+                        }
+                        continue; // for (colors)
+                    }
+                    ColorAreaSet.copyFrom(this.casNextNeighbors, this.casNeighbors);
+                    ColorAreaSet.addAllAndLookup(this.casNextNeighbors, this.casNeighbors, casColorBit, this.idsNeighborColorAreaSets);
+                    ColorAreaSet.removeAll(this.casNextNeighbors, this.casNextFlooded);
+                    final int owner = (int)(((0xffffffffL & this.map.hash(this.casNextFlooded, 0)) * AStarParallelSolver.this.numThreads) >>> Integer.SIZE);
+                    if (owner == this.id) {
+                        this.add(this.casNextFlooded, this.casNextNeighbors, previous, color, nextSolutionSize, nextNonCompletedColors);
+                    } else {
+                        Batch batch = this.outbox[owner];
+                        if (null == batch) {
+                            batch = this.outbox[owner] = new Batch(this.stateSize);
+                        }
+                        if (batch.add(this.casNextFlooded, this.casNextNeighbors, previous, color, nextSolutionSize, nextNonCompletedColors)) {
+                            this.flush(owner);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * process the nodes of a message that has been sent to this worker.
+         */
+        private void receive(final Batch batch) {
+            for (int i = 0, offset = 0;  i < batch.size;  ++i) {
+                System.arraycopy(batch.states, offset, this.casNextFlooded, 0, this.stateSize);
+                offset += this.stateSize;
+                System.arraycopy(batch.states, offset, this.casNextNeighbors, 0, this.stateSize);
+                offset += this.stateSize;
+                this.add(this.casNextFlooded, this.casNextNeighbors, batch.previous[i], batch.colors[i], batch.solutionSizes[i] & 0xff, batch.nonCompletedColors[i]);
+            }
+            this.numReceived += batch.size;
+        }
+
+        /**
+         * add the node to the open list, if it's not a known state.
+         */
+        private void add(final long[] casFlooded, final long[] casNeighbors, final long previous, final byte color, final int solutionSize, final int nonCompletedColors) {
+            if (solutionSize >= AStarParallelSolver.this.bestSize.get()) {
+                return; // can't lead to a shorter solution
+            }
+            final int floodedEntry = this.map.putIfLess(casFlooded, solutionSize);
+            if (0 == floodedEntry) {
+                ++this.metrics.duplicatesRejected;
+            } else {
+                ++this.metrics.nodesGenerated;
+                final AStarNode node = this.nextNode;
+                final int neighborsEntry;
+                if (this.compact) {
+                    this.storage.set(this.scratchNeighbors, casNeighbors); // only used by estimateCost()
+                    neighborsEntry = this.scratchNeighbors;
+                } else {
+                    neighborsEntry = this.storage.put(casNeighbors);
+                }
+                node.set(floodedEntry, neighborsEntry, this.solutionTree.add(previous, color), solutionSize, 0);
+                int estimate = this.map.getEstimate();
+                if (estimate < 0) {
+                    estimate = this.metrics.estimateCost(this.strategy, node, nonCompletedColors);
+                    this.map.setEstimate(estimate);
+                } else {
+                    ++this.metrics.estimateCostCacheHits;
+                }
+                node.setEstimatedCost(solutionSize + estimate);
+                if (node.getEstimatedCost() < AStarParallelSolver.this.bestSize.get()) {
+                    this.open.offer(node);
+                } else {
+                    ++this.metrics.upperBoundPrunes;
+                }
+            }
+        }
+
+        /**
+         * send the pending message to this worker.
+         */
+        private void flush(final int owner) {
+            final Batch batch = this.outbox[owner];
+            if ((null != batch) && (batch.size > 0)) {
+                this.outbox[owner] = null;
+                AStarParallelSolver.this.outstanding.addAndGet(batch.size); // must be counted before it can be received
+                AStarParallelSolver.this.workers[owner].mailbox.offer(batch);
+            }
+        }
+
+        /**
+         * send all pending messages.
+         */
+        private void flushAll() {
+            for (int owner = 0;  owner < this.outbox.length;  ++owner) {
+                this.flush(owner);
+            }
+        }
+    }
+
+    /**
+     * a message that contains some nodes which are sent from one worker to another.
+     */
+    private static class Batch {
+        private final long[] states;                // flooded and neighbors of each node
+        private final long[] previous = new long[BATCH_SIZE];  // global solution entry of the previous move
+        private final byte[] colors = new byte[BATCH_SIZE];
+        private final byte[] solutionSizes = new byte[BATCH_SIZE];
+        private final int[] nonCompletedColors = new int[BATCH_SIZE];
+        private final int stateSize;
+        private int size;
+
+        private Batch(final int stateSize) {
+            this.stateSize = stateSize;
+            this.states = new long[BATCH_SIZE * 2 * stateSize];
+        }
+
+        /**
+         * add a node to this message.
+         * @return true if this message is full
+         */
+        private boolean add(final long[] casFlooded, final long[] casNeighbors, final long previous, final byte color, final int solutionSize, final int nonCompletedColors) {
+            final int offset = this.size * 2 * this.stateSize;
+            System.arraycopy(casFlooded, 0, this.states, offset, this.stateSize);
+            System.arraycopy(casNeighbors, 0, this.states, offset + this.stateSize, this.stateSize);
+            this.previous[this.size] = previous;
+            this.colors[this.size] = color;
+            this.solutionSizes[this.size] = (byte)solutionSize;
+            this.nonCompletedColors[this.size] = nonCompletedColors;
+            return ++this.size == BATCH_SIZE;
+        }
+    }
+
+    /**
+     * This class stores the moves of the (partial) solutions owned by one worker.
+     * Unlike AStarSolver.SolutionTree, each entry refers to its previous move by a
+     * global entry, which contains the number of the worker that owns the previous move.
+     * It's read by other threads only after all workers have finished.
+     */
+    private static class WorkerSolutionTree {
+        private static final int MEMORY_BLOCK_SHIFT   = 19;   // 1 << 19 = 1*4 MiB
+        private static final int MEMORY_BLOCK_SIZE    = 1 << MEMORY_BLOCK_SHIFT;
+        private static final int MEMORY_BLOCK_MASK    = MEMORY_BLOCK_SIZE - 1;
+
+        private long[][] memoryBlocks = new long[1][];
+        private long[] nextMemoryBlock;
+        private int numMemoryBlocks = 1, nextEntry = 0, nextEntryOffset = 0;
+
+        /**
+         * @param firstBlockSize initial size of the first memory block (number of "long"), a power of two;
+         *        it grows up to MEMORY_BLOCK_SIZE before the next one is allocated
+         */
+        private WorkerSolutionTree(final int firstBlockSize) {
+            this.nextMemoryBlock = this.memoryBlocks[0] = new long[firstBlockSize];
+        }
+
+        /**
+         * Add the next move to this tree.
+         * @param previous global entry of the previous move
+         * @param color of the next move
+         * @return next entry
+         */
+        private int add(final long previous, final byte color) {
+            this.nextMemoryBlock[this.nextEntryOffset++] = previous;
+            final int result = (this.nextEntry++ << SolutionTree.COLOR_BIT_SHIFT) | color;
+            if (this.nextEntryOffset == this.nextMemoryBlock.length) {
+                if (this.nextEntryOffset < MEMORY_BLOCK_SIZE) {
+                    // the first block is smaller, so it's enlarged; the entries keep their index
+                    this.nextMemoryBlock = this.memoryBlocks[0] = Arrays.copyOf(this.nextMemoryBlock, this.nextEntryOffset << 1);
+                    return result;
+                }
+                if (0 != (Integer.rotateLeft(this.nextEntry, SolutionTree.COLOR_BIT_SHIFT) & SolutionTree.COLOR_BIT_MASK)) {
+                    throw new IllegalStateException(this.getClass().getSimpleName() + ".add() : memory capacity exceeded; number of entries stored=" + this.nextEntry);
+                }
+                if (this.memoryBlocks.length <= this.numMemoryBlocks) {
+                    this.memoryBlocks = Arrays.copyOf(this.memoryBlocks, this.memoryBlocks.length * 2);
+                }
+                this.nextMemoryBlock = new long[MEMORY_BLOCK_SIZE];
+                this.memoryBlocks[this.numMemoryBlocks++] = this.nextMemoryBlock;
+                this.nextEntryOffset = 0;
+            }
+            return result;
+        }
+
+        /**
+         * @return number of entries stored in this tree
+         */
+        private int size() {
+            return this.nextEntry;
+        }
+
+        /**
+         * @return number of bytes allocated by this tree
+         */
+        private long getSizeBytes() {
+            return ((long)(this.numMemoryBlocks - 1) * MEMORY_BLOCK_SIZE + this.memoryBlocks[0].length) * Long.BYTES;
+        }
+
+        /**
+         * get the global entry of the move that precedes this one.
+         */
+        private long getPrevious(final int entry) {
+            final int index = entry >>> SolutionTree.COLOR_BIT_SHIFT;
+            return this.memoryBlocks[index >>> MEMORY_BLOCK_SHIFT][index & MEMORY_BLOCK_MASK];
+        }
+    }
+}
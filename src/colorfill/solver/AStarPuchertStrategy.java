@@ -17,6 +17,8 @@
 
 package colorfill.solver;
 
+import java.util.Arrays;
+
 import colorfill.model.Board;
 import colorfill.model.ColorAreaSet;
 import colorfill.solver.AStarSolver.StateStorage;
@@ -26,22 +28,38 @@ import colorfill.solver.AStarSolver.StateStorage;
  * <p>
  * the idea is taken from the program "floodit" by Aaron and Simon Puchert,
  * which can be found at <a>https://github.com/aaronpuchert/floodit</a>
+ * <p>
+ * note: lower bounds from abstractions of the colors have been tried as an addition to this heuristic,
+ * on the boards with 4 and 6 colors ("b24c4", "b18c6"). merging colors can't give a higher value,
+ * because it only coarsens the graph of the color areas. the sum over disjoint color groups of the
+ * moves needed in each group, with the other colors for free, was never higher as a 0-1 BFS depth.
+ * with this layering in each group it was higher in 0.2% (b24c4) and 0.5% (b18c6) of the search states,
+ * by one move only, and it's not established that this sum is admissible.
+ * so there is no "pattern database" strategy.
  */
 public class AStarPuchertStrategy implements AStarStrategy {
 
     protected final long[] casVisited, casCurrent, casNext;
     protected final long[][] casByColorBits;
     protected final long[][] idsNeighborColorAreaSets;
+    protected final ColorAreaSet.SparseLookup idsNeighborSparse; // not null on wide boards
+    private final LayerMemo layerMemo; // not null on wide boards
     protected final StateStorage storage;
 
     public static AStarPuchertStrategy getInstance(final Board board, final StateStorage storage) {
         switch (board.getSizeColorAreas64()) {
+        // BEGIN GENERATED getInstance
         case 1:  return new AStarPuchertStrategy_1(board, storage);
         case 2:  return new AStarPuchertStrategy_2(board, storage);
         case 3:  return new AStarPuchertStrategy_3(board, storage);
         case 4:  return new AStarPuchertStrategy_4(board, storage);
         case 5:  return new AStarPuchertStrategy_5(board, storage);
         case 6:  return new AStarPuchertStrategy_6(board, storage);
+        case 7:  return new AStarPuchertStrategy_7(board, storage);
+        case 8:  return new AStarPuchertStrategy_8(board, storage);
+        case 9:  return new AStarPuchertStrategy_9(board, storage);
+        case 10: return new AStarPuchertStrategy_10(board, storage);
+        // END GENERATED getInstance
         default: return new AStarPuchertStrategy  (board, storage);
         }
     }
@@ -52,9 +70,42 @@ public class AStarPuchertStrategy implements AStarStrategy {
         this.casNext = ColorAreaSet.constructor(board);
         this.casByColorBits = board.getCasByColorBitsArray();
         this.idsNeighborColorAreaSets = board.getNeighborColorAreaSet4IdArray();
+        this.idsNeighborSparse = (board.getSizeColorAreas64() >= ColorAreaSet.SPARSE_LOOKUP_MIN_LENGTH ? board.getNeighborSparseLookup() : null);
+        this.layerMemo = (board.getSizeColorAreas64() >= LayerMemo.MIN_LENGTH ? new LayerMemo(board.getSizeColorAreas64()) : null);
         this.storage = storage;
     }
 
+    /**
+     * forget the layers remembered from the previous calls of estimateCost().
+     */
+    void clearLayerMemo() {
+        if (null != this.layerMemo) {
+            this.layerMemo.clear();
+        }
+    }
+
+    /**
+     * add the neighbors of all ColorAreas in casOther to casThis.
+     */
+    protected final void addAllLookup(final long[] casThis, final long[] casOther) {
+        if (null == this.idsNeighborSparse) {
+            ColorAreaSet.addAllLookup(casThis, casOther, this.idsNeighborColorAreaSets);
+        } else {
+            ColorAreaSet.addAllLookup(casThis, casOther, this.idsNeighborSparse);
+        }
+    }
+
+    /**
+     * add the neighbors of all ColorAreas in both casOtherOne and casOtherTwo to casThis.
+     */
+    protected final void addAllAndLookup(final long[] casThis, final long[] casOtherOne, final long[] casOtherTwo) {
+        if (null == this.idsNeighborSparse) {
+            ColorAreaSet.addAllAndLookup(casThis, casOtherOne, casOtherTwo, this.idsNeighborColorAreaSets);
+        } else {
+            ColorAreaSet.addAllAndLookup(casThis, casOtherOne, casOtherTwo, this.idsNeighborSparse);
+        }
+    }
+
     @Override
     public int estimateCost(final AStarNode node, int nonCompletedColors) {
 
@@ -68,6 +119,14 @@ public class AStarPuchertStrategy implements AStarStrategy {
         // the filled nodes. Thus, filling that layer gets us at least one step
         // closer to the end.
 
+        // on wide boards, the layers of the previous calls are remembered. the successors of a node
+        // (and other nearby nodes) usually reach the same layer after a few steps, and from that layer
+        // on the computation would be the same, so the remaining distance is known already.
+        final LayerMemo memo = this.layerMemo;
+        if (null != memo) {
+            memo.startTrace();
+        }
+
         int distance = 0;
         long[] next = this.casNext;
         long[] current = this.casCurrent;
@@ -76,6 +135,12 @@ public class AStarPuchertStrategy implements AStarStrategy {
 
         while (true) {
             ColorAreaSet.addAll(this.casVisited, current);
+            if (null != memo) {
+                final int remainingDistance = memo.findOrAdd(current, this.casVisited, nonCompletedColors, distance);
+                if (remainingDistance >= 0) {
+                    return memo.finishTrace(distance + remainingDistance); // done
+                }
+            }
             int completedColors = 0;
             for (int colors = nonCompletedColors;  0 != colors;  colors &= colors - 1) {
                 final int colorBit = Integer.lowestOneBit(colors);
@@ -90,12 +155,12 @@ public class AStarPuchertStrategy implements AStarStrategy {
                 distance += Integer.bitCount(completedColors);
                 if (0 == (nonCompletedColors & (nonCompletedColors - 1))) { // one or zero colors remaining
                     distance += (-nonCompletedColors >>> 31); // nonCompletedColors is never negative // (0 == nonCompletedColors ? 0 : 1)
-                    return distance; // done
+                    return (null == memo ? distance : memo.finishTrace(distance)); // done
                 } else {
                     ColorAreaSet.clear(next);
                     // completed colors
                     final long[] colorCas = this.casByColorBits[completedColors];
-                    ColorAreaSet.addAllAndLookup(next, current, colorCas, this.idsNeighborColorAreaSets);
+                    this.addAllAndLookup(next, current, colorCas);
                     ColorAreaSet.removeAll(current, colorCas);
                     ColorAreaSet.removeAll(next, this.casVisited);
                     // non-completed colors
@@ -107,7 +172,7 @@ public class AStarPuchertStrategy implements AStarStrategy {
                 // Nothing found, do the color-blind pseudo-move
                 // Expand current layer of nodes.
                 ++distance;
-                ColorAreaSet.addAllLookup(next, current, this.idsNeighborColorAreaSets);
+                this.addAllLookup(next, current);
                 ColorAreaSet.removeAll(next, this.casVisited);
             }
 
@@ -121,13 +186,123 @@ public class AStarPuchertStrategy implements AStarStrategy {
 
 
 
+    /**
+     * the layers computed by estimateCost(), so that later calls can stop as soon as they reach one of them.
+     * a layer is the state at the start of one step of the heuristic: the sets "current" and "visited" and
+     * the non-completed colors; the rest of the computation depends on this state only.
+     * the layers are kept in a bounded number of preallocated arrays and found by a hash index.
+     */
+    static final class LayerMemo {
+        // configure this:
+        static final int MIN_LENGTH = 11;               // boards that are too wide for the unrolled versions of this class
+        private static final int MAX_BYTES = 8 << 20;   // memory for the sets of the remembered layers
+        private static final int MAX_LAYERS = 4096;
+
+        private final int length, maxLayers, indexMask;
+        private final int[] index;  // layer number + 1 of the most recent layer of each hash value, or 0
+        private long[][] layerCurrent, layerVisited;
+        private int[] layerNext, layerSize, layerColors, layerDistance, layerTrace;
+        private final int[] traceDistance;
+        private int numLayers, numTraces;
+
+        LayerMemo(final int length) {
+            this.length = length;
+            this.maxLayers = Math.max(64, Math.min(MAX_LAYERS, MAX_BYTES / (2 * 8 * length)));
+            this.index = new int[Integer.highestOneBit(this.maxLayers) * 2];
+            this.indexMask = this.index.length - 1;
+            this.layerCurrent = new long[0][];
+            this.layerVisited = new long[0][];
+            this.layerNext = new int[0];
+            this.layerSize = new int[0];
+            this.layerColors = new int[0];
+            this.layerDistance = new int[0];
+            this.layerTrace = new int[0];
+            this.traceDistance = new int[this.maxLayers];
+        }
+
+        void clear() {
+            Arrays.fill(this.index, 0);
+            this.numLayers = 0;
+            this.numTraces = 0;
+        }
+
+        /**
+         * called at the start of estimateCost().
+         */
+        void startTrace() {
+            if ((this.numLayers >= this.maxLayers) || (this.numTraces >= this.maxLayers)) {
+                this.clear();
+            }
+        }
+
+        /**
+         * called at the end of estimateCost().
+         * @return distance
+         */
+        int finishTrace(final int distance) {
+            this.traceDistance[this.numTraces++] = distance;
+            return distance;
+        }
+
+        /**
+         * find this layer, or remember it as a layer of the current trace.
+         * @return the remaining distance from this layer, or -1 if it's a new layer
+         */
+        int findOrAdd(final long[] casCurrent, final long[] casVisited, final int nonCompletedColors, final int distance) {
+            final int size = ColorAreaSet.size(casVisited);
+            final int hash = ((size * 0x9e3779b9) ^ nonCompletedColors) & this.indexMask;
+            for (int i = this.index[hash] - 1;  i >= 0;  i = this.layerNext[i] - 1) {
+                if ((size == this.layerSize[i]) && (nonCompletedColors == this.layerColors[i])
+                        && Arrays.equals(casVisited, this.layerVisited[i]) && Arrays.equals(casCurrent, this.layerCurrent[i])) {
+                    return this.traceDistance[this.layerTrace[i]] - this.layerDistance[i];
+                }
+            }
+            if (this.numLayers < this.maxLayers) {
+                final int i = this.numLayers++;
+                if (i == this.layerSize.length) {
+                    this.grow();
+                }
+                System.arraycopy(casCurrent, 0, this.layerCurrent[i], 0, this.length);
+                System.arraycopy(casVisited, 0, this.layerVisited[i], 0, this.length);
+                this.layerSize[i] = size;
+                this.layerColors[i] = nonCompletedColors;
+                this.layerDistance[i] = distance;
+                this.layerTrace[i] = this.numTraces;
+                this.layerNext[i] = this.index[hash];
+                this.index[hash] = i + 1;
+            }
+            return -1;
+        }
+
+        private void grow() {
+            final int oldLength = this.layerSize.length;
+            final int newLength = Math.min(this.maxLayers, Math.max(64, oldLength * 2));
+            this.layerCurrent = Arrays.copyOf(this.layerCurrent, newLength);
+            this.layerVisited = Arrays.copyOf(this.layerVisited, newLength);
+            for (int i = oldLength;  i < newLength;  ++i) {
+                this.layerCurrent[i] = new long[this.length];
+                this.layerVisited[i] = new long[this.length];
+            }
+            this.layerNext = Arrays.copyOf(this.layerNext, newLength);
+            this.layerSize = Arrays.copyOf(this.layerSize, newLength);
+            this.layerColors = Arrays.copyOf(this.layerColors, newLength);
+            this.layerDistance = Arrays.copyOf(this.layerDistance, newLength);
+            this.layerTrace = Arrays.copyOf(this.layerTrace, newLength);
+        }
+    }
+
+
+
+
     // below are the performance-optimized versions of this class
     // (manually inlined functions and unrolled loops)
+    // generated by tools/GenerateAStarPuchertStrategy.java - do not edit them here
+    // BEGIN GENERATED classes
 
 
     static class AStarPuchertStrategy_1 extends AStarPuchertStrategy {
         public AStarPuchertStrategy_1(final Board board, final StateStorage storage) {
-            super(board, storage);  //System.out.println("-64-1 !!");
+            super(board, storage);
         }
         @Override
         public int estimateCost(final AStarNode node, int nonCompletedColors) {
@@ -186,7 +361,7 @@ public class AStarPuchertStrategy implements AStarStrategy {
 
     static class AStarPuchertStrategy_2 extends AStarPuchertStrategy {
         public AStarPuchertStrategy_2(final Board board, final StateStorage storage) {
-            super(board, storage);  //System.out.println("-64-2 !!");
+            super(board, storage);
         }
         @Override
         public int estimateCost(final AStarNode node, int nonCompletedColors) {
@@ -267,7 +442,7 @@ public class AStarPuchertStrategy implements AStarStrategy {
 
     static class AStarPuchertStrategy_3 extends AStarPuchertStrategy {
         public AStarPuchertStrategy_3(final Board board, final StateStorage storage) {
-            super(board, storage);  //System.out.println("-64-3 !!");
+            super(board, storage);
         }
         @Override
         public int estimateCost(final AStarNode node, int nonCompletedColors) {
@@ -374,7 +549,7 @@ public class AStarPuchertStrategy implements AStarStrategy {
 
     static class AStarPuchertStrategy_4 extends AStarPuchertStrategy {
         public AStarPuchertStrategy_4(final Board board, final StateStorage storage) {
-            super(board, storage);  //System.out.println("-64-4 !!");
+            super(board, storage);
         }
         @Override
         public int estimateCost(final AStarNode node, int nonCompletedColors) {
@@ -511,7 +686,7 @@ public class AStarPuchertStrategy implements AStarStrategy {
 
     static class AStarPuchertStrategy_5 extends AStarPuchertStrategy {
         public AStarPuchertStrategy_5(final Board board, final StateStorage storage) {
-            super(board, storage);  //System.out.println("-64-5 !!");
+            super(board, storage);
         }
         @Override
         public int estimateCost(final AStarNode node, int nonCompletedColors) {
@@ -682,7 +857,7 @@ public class AStarPuchertStrategy implements AStarStrategy {
 
     static class AStarPuchertStrategy_6 extends AStarPuchertStrategy {
         public AStarPuchertStrategy_6(final Board board, final StateStorage storage) {
-            super(board, storage);  //System.out.println("-64-6 !!");
+            super(board, storage);
         }
         @Override
         public int estimateCost(final AStarNode node, int nonCompletedColors) {
@@ -889,4 +1064,1301 @@ public class AStarPuchertStrategy implements AStarStrategy {
     }
 
 
+    static class AStarPuchertStrategy_7 extends AStarPuchertStrategy {
+        public AStarPuchertStrategy_7(final Board board, final StateStorage storage) {
+            super(board, storage);
+        }
+        @Override
+        public int estimateCost(final AStarNode node, int nonCompletedColors) {
+            int distance = 0;
+            long current0 = this.storage.get(node.getNeighbors(), 0);
+            long current1 = this.storage.get(node.getNeighbors(), 1);
+            long current2 = this.storage.get(node.getNeighbors(), 2);
+            long current3 = this.storage.get(node.getNeighbors(), 3);
+            long current4 = this.storage.get(node.getNeighbors(), 4);
+            long current5 = this.storage.get(node.getNeighbors(), 5);
+            long current6 = this.storage.get(node.getNeighbors(), 6);
+            long visited0 = this.storage.get(node.getFlooded(), 0);
+            long visited1 = this.storage.get(node.getFlooded(), 1);
+            long visited2 = this.storage.get(node.getFlooded(), 2);
+            long visited3 = this.storage.get(node.getFlooded(), 3);
+            long visited4 = this.storage.get(node.getFlooded(), 4);
+            long visited5 = this.storage.get(node.getFlooded(), 5);
+            long visited6 = this.storage.get(node.getFlooded(), 6);
+            while (true) {
+                visited0 |= current0;
+                visited1 |= current1;
+                visited2 |= current2;
+                visited3 |= current3;
+                visited4 |= current4;
+                visited5 |= current5;
+                visited6 |= current6;
+                int completedColors = 0;
+                for (int colors = nonCompletedColors;  0 != colors;  colors &= colors - 1) {
+                    final int colorBit = Integer.lowestOneBit(colors);
+                    final long[] casColor = this.casByColorBits[colorBit];
+                    if (((visited0 & casColor[0]) == casColor[0]) &&
+                        ((visited1 & casColor[1]) == casColor[1]) &&
+                        ((visited2 & casColor[2]) == casColor[2]) &&
+                        ((visited3 & casColor[3]) == casColor[3]) &&
+                        ((visited4 & casColor[4]) == casColor[4]) &&
+                        ((visited5 & casColor[5]) == casColor[5]) &&
+                        ((visited6 & casColor[6]) == casColor[6])) {
+                        completedColors |= colorBit;
+                    }
+                }
+                if (0 != completedColors) {
+                    nonCompletedColors ^= completedColors;
+                    // We can eliminate colors. Do just that.
+                    // We also combine all these elimination moves.
+                    distance += Integer.bitCount(completedColors);
+                    if (0 == (nonCompletedColors & (nonCompletedColors - 1))) { // one or zero colors remaining
+                        distance += (-nonCompletedColors >>> 31); // nonCompletedColors is never negative // (0 == nonCompletedColors ? 0 : 1)
+                        return distance; // done
+                    } else {
+                        // completed colors
+                        final long[] colorCas = this.casByColorBits[completedColors];
+                        // non-completed colors
+                        // move nodes to next layer
+                        long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0;
+                        long buf = (current0 & colorCas[0]);
+                        current0 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                        }
+                        buf = (current1 & colorCas[1]);
+                        current1 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                        }
+                        buf = (current2 & colorCas[2]);
+                        current2 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                        }
+                        buf = (current3 & colorCas[3]);
+                        current3 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                        }
+                        buf = (current4 & colorCas[4]);
+                        current4 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                        }
+                        buf = (current5 & colorCas[5]);
+                        current5 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                        }
+                        buf = (current6 & colorCas[6]);
+                        current6 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                        }
+                        current0 |= l0 & ~visited0;
+                        current1 |= l1 & ~visited1;
+                        current2 |= l2 & ~visited2;
+                        current3 |= l3 & ~visited3;
+                        current4 |= l4 & ~visited4;
+                        current5 |= l5 & ~visited5;
+                        current6 |= l6 & ~visited6;
+                    }
+                } else {
+                    // Nothing found, do the color-blind pseudo-move
+                    // Expand current layer of nodes.
+                    ++distance;
+                    long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0;
+                    while (current0 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(current0)];
+                        current0 &= current0 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                    }
+                    while (current1 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(current1)];
+                        current1 &= current1 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                    }
+                    while (current2 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(current2)];
+                        current2 &= current2 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                    }
+                    while (current3 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(current3)];
+                        current3 &= current3 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                    }
+                    while (current4 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(current4)];
+                        current4 &= current4 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                    }
+                    while (current5 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(current5)];
+                        current5 &= current5 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                    }
+                    while (current6 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(current6)];
+                        current6 &= current6 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                    }
+                    current0 = l0 & ~visited0;
+                    current1 = l1 & ~visited1;
+                    current2 = l2 & ~visited2;
+                    current3 = l3 & ~visited3;
+                    current4 = l4 & ~visited4;
+                    current5 = l5 & ~visited5;
+                    current6 = l6 & ~visited6;
+                }
+            }
+        }
+    }
+
+
+    static class AStarPuchertStrategy_8 extends AStarPuchertStrategy {
+        public AStarPuchertStrategy_8(final Board board, final StateStorage storage) {
+            super(board, storage);
+        }
+        @Override
+        public int estimateCost(final AStarNode node, int nonCompletedColors) {
+            int distance = 0;
+            long current0 = this.storage.get(node.getNeighbors(), 0);
+            long current1 = this.storage.get(node.getNeighbors(), 1);
+            long current2 = this.storage.get(node.getNeighbors(), 2);
+            long current3 = this.storage.get(node.getNeighbors(), 3);
+            long current4 = this.storage.get(node.getNeighbors(), 4);
+            long current5 = this.storage.get(node.getNeighbors(), 5);
+            long current6 = this.storage.get(node.getNeighbors(), 6);
+            long current7 = this.storage.get(node.getNeighbors(), 7);
+            long visited0 = this.storage.get(node.getFlooded(), 0);
+            long visited1 = this.storage.get(node.getFlooded(), 1);
+            long visited2 = this.storage.get(node.getFlooded(), 2);
+            long visited3 = this.storage.get(node.getFlooded(), 3);
+            long visited4 = this.storage.get(node.getFlooded(), 4);
+            long visited5 = this.storage.get(node.getFlooded(), 5);
+            long visited6 = this.storage.get(node.getFlooded(), 6);
+            long visited7 = this.storage.get(node.getFlooded(), 7);
+            while (true) {
+                visited0 |= current0;
+                visited1 |= current1;
+                visited2 |= current2;
+                visited3 |= current3;
+                visited4 |= current4;
+                visited5 |= current5;
+                visited6 |= current6;
+                visited7 |= current7;
+                int completedColors = 0;
+                for (int colors = nonCompletedColors;  0 != colors;  colors &= colors - 1) {
+                    final int colorBit = Integer.lowestOneBit(colors);
+                    final long[] casColor = this.casByColorBits[colorBit];
+                    if (((visited0 & casColor[0]) == casColor[0]) &&
+                        ((visited1 & casColor[1]) == casColor[1]) &&
+                        ((visited2 & casColor[2]) == casColor[2]) &&
+                        ((visited3 & casColor[3]) == casColor[3]) &&
+                        ((visited4 & casColor[4]) == casColor[4]) &&
+                        ((visited5 & casColor[5]) == casColor[5]) &&
+                        ((visited6 & casColor[6]) == casColor[6]) &&
+                        ((visited7 & casColor[7]) == casColor[7])) {
+                        completedColors |= colorBit;
+                    }
+                }
+                if (0 != completedColors) {
+                    nonCompletedColors ^= completedColors;
+                    // We can eliminate colors. Do just that.
+                    // We also combine all these elimination moves.
+                    distance += Integer.bitCount(completedColors);
+                    if (0 == (nonCompletedColors & (nonCompletedColors - 1))) { // one or zero colors remaining
+                        distance += (-nonCompletedColors >>> 31); // nonCompletedColors is never negative // (0 == nonCompletedColors ? 0 : 1)
+                        return distance; // done
+                    } else {
+                        // completed colors
+                        final long[] colorCas = this.casByColorBits[completedColors];
+                        // non-completed colors
+                        // move nodes to next layer
+                        long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0, l7 = 0;
+                        long buf = (current0 & colorCas[0]);
+                        current0 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        buf = (current1 & colorCas[1]);
+                        current1 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        buf = (current2 & colorCas[2]);
+                        current2 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        buf = (current3 & colorCas[3]);
+                        current3 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        buf = (current4 & colorCas[4]);
+                        current4 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        buf = (current5 & colorCas[5]);
+                        current5 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        buf = (current6 & colorCas[6]);
+                        current6 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        buf = (current7 & colorCas[7]);
+                        current7 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 7 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                        }
+                        current0 |= l0 & ~visited0;
+                        current1 |= l1 & ~visited1;
+                        current2 |= l2 & ~visited2;
+                        current3 |= l3 & ~visited3;
+                        current4 |= l4 & ~visited4;
+                        current5 |= l5 & ~visited5;
+                        current6 |= l6 & ~visited6;
+                        current7 |= l7 & ~visited7;
+                    }
+                } else {
+                    // Nothing found, do the color-blind pseudo-move
+                    // Expand current layer of nodes.
+                    ++distance;
+                    long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0, l7 = 0;
+                    while (current0 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(current0)];
+                        current0 &= current0 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    while (current1 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(current1)];
+                        current1 &= current1 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    while (current2 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(current2)];
+                        current2 &= current2 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    while (current3 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(current3)];
+                        current3 &= current3 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    while (current4 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(current4)];
+                        current4 &= current4 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    while (current5 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(current5)];
+                        current5 &= current5 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    while (current6 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(current6)];
+                        current6 &= current6 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    while (current7 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 7 + Long.numberOfTrailingZeros(current7)];
+                        current7 &= current7 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                    }
+                    current0 = l0 & ~visited0;
+                    current1 = l1 & ~visited1;
+                    current2 = l2 & ~visited2;
+                    current3 = l3 & ~visited3;
+                    current4 = l4 & ~visited4;
+                    current5 = l5 & ~visited5;
+                    current6 = l6 & ~visited6;
+                    current7 = l7 & ~visited7;
+                }
+            }
+        }
+    }
+
+
+    static class AStarPuchertStrategy_9 extends AStarPuchertStrategy {
+        public AStarPuchertStrategy_9(final Board board, final StateStorage storage) {
+            super(board, storage);
+        }
+        @Override
+        public int estimateCost(final AStarNode node, int nonCompletedColors) {
+            int distance = 0;
+            long current0 = this.storage.get(node.getNeighbors(), 0);
+            long current1 = this.storage.get(node.getNeighbors(), 1);
+            long current2 = this.storage.get(node.getNeighbors(), 2);
+            long current3 = this.storage.get(node.getNeighbors(), 3);
+            long current4 = this.storage.get(node.getNeighbors(), 4);
+            long current5 = this.storage.get(node.getNeighbors(), 5);
+            long current6 = this.storage.get(node.getNeighbors(), 6);
+            long current7 = this.storage.get(node.getNeighbors(), 7);
+            long current8 = this.storage.get(node.getNeighbors(), 8);
+            long visited0 = this.storage.get(node.getFlooded(), 0);
+            long visited1 = this.storage.get(node.getFlooded(), 1);
+            long visited2 = this.storage.get(node.getFlooded(), 2);
+            long visited3 = this.storage.get(node.getFlooded(), 3);
+            long visited4 = this.storage.get(node.getFlooded(), 4);
+            long visited5 = this.storage.get(node.getFlooded(), 5);
+            long visited6 = this.storage.get(node.getFlooded(), 6);
+            long visited7 = this.storage.get(node.getFlooded(), 7);
+            long visited8 = this.storage.get(node.getFlooded(), 8);
+            while (true) {
+                visited0 |= current0;
+                visited1 |= current1;
+                visited2 |= current2;
+                visited3 |= current3;
+                visited4 |= current4;
+                visited5 |= current5;
+                visited6 |= current6;
+                visited7 |= current7;
+                visited8 |= current8;
+                int completedColors = 0;
+                for (int colors = nonCompletedColors;  0 != colors;  colors &= colors - 1) {
+                    final int colorBit = Integer.lowestOneBit(colors);
+                    final long[] casColor = this.casByColorBits[colorBit];
+                    if (((visited0 & casColor[0]) == casColor[0]) &&
+                        ((visited1 & casColor[1]) == casColor[1]) &&
+                        ((visited2 & casColor[2]) == casColor[2]) &&
+                        ((visited3 & casColor[3]) == casColor[3]) &&
+                        ((visited4 & casColor[4]) == casColor[4]) &&
+                        ((visited5 & casColor[5]) == casColor[5]) &&
+                        ((visited6 & casColor[6]) == casColor[6]) &&
+                        ((visited7 & casColor[7]) == casColor[7]) &&
+                        ((visited8 & casColor[8]) == casColor[8])) {
+                        completedColors |= colorBit;
+                    }
+                }
+                if (0 != completedColors) {
+                    nonCompletedColors ^= completedColors;
+                    // We can eliminate colors. Do just that.
+                    // We also combine all these elimination moves.
+                    distance += Integer.bitCount(completedColors);
+                    if (0 == (nonCompletedColors & (nonCompletedColors - 1))) { // one or zero colors remaining
+                        distance += (-nonCompletedColors >>> 31); // nonCompletedColors is never negative // (0 == nonCompletedColors ? 0 : 1)
+                        return distance; // done
+                    } else {
+                        // completed colors
+                        final long[] colorCas = this.casByColorBits[completedColors];
+                        // non-completed colors
+                        // move nodes to next layer
+                        long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0, l7 = 0, l8 = 0;
+                        long buf = (current0 & colorCas[0]);
+                        current0 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current1 & colorCas[1]);
+                        current1 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current2 & colorCas[2]);
+                        current2 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current3 & colorCas[3]);
+                        current3 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current4 & colorCas[4]);
+                        current4 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current5 & colorCas[5]);
+                        current5 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current6 & colorCas[6]);
+                        current6 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current7 & colorCas[7]);
+                        current7 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 7 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        buf = (current8 & colorCas[8]);
+                        current8 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 8 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                        }
+                        current0 |= l0 & ~visited0;
+                        current1 |= l1 & ~visited1;
+                        current2 |= l2 & ~visited2;
+                        current3 |= l3 & ~visited3;
+                        current4 |= l4 & ~visited4;
+                        current5 |= l5 & ~visited5;
+                        current6 |= l6 & ~visited6;
+                        current7 |= l7 & ~visited7;
+                        current8 |= l8 & ~visited8;
+                    }
+                } else {
+                    // Nothing found, do the color-blind pseudo-move
+                    // Expand current layer of nodes.
+                    ++distance;
+                    long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0, l7 = 0, l8 = 0;
+                    while (current0 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(current0)];
+                        current0 &= current0 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current1 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(current1)];
+                        current1 &= current1 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current2 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(current2)];
+                        current2 &= current2 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current3 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(current3)];
+                        current3 &= current3 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current4 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(current4)];
+                        current4 &= current4 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current5 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(current5)];
+                        current5 &= current5 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current6 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(current6)];
+                        current6 &= current6 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current7 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 7 + Long.numberOfTrailingZeros(current7)];
+                        current7 &= current7 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    while (current8 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 8 + Long.numberOfTrailingZeros(current8)];
+                        current8 &= current8 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                    }
+                    current0 = l0 & ~visited0;
+                    current1 = l1 & ~visited1;
+                    current2 = l2 & ~visited2;
+                    current3 = l3 & ~visited3;
+                    current4 = l4 & ~visited4;
+                    current5 = l5 & ~visited5;
+                    current6 = l6 & ~visited6;
+                    current7 = l7 & ~visited7;
+                    current8 = l8 & ~visited8;
+                }
+            }
+        }
+    }
+
+
+    static class AStarPuchertStrategy_10 extends AStarPuchertStrategy {
+        public AStarPuchertStrategy_10(final Board board, final StateStorage storage) {
+            super(board, storage);
+        }
+        @Override
+        public int estimateCost(final AStarNode node, int nonCompletedColors) {
+            int distance = 0;
+            long current0 = this.storage.get(node.getNeighbors(), 0);
+            long current1 = this.storage.get(node.getNeighbors(), 1);
+            long current2 = this.storage.get(node.getNeighbors(), 2);
+            long current3 = this.storage.get(node.getNeighbors(), 3);
+            long current4 = this.storage.get(node.getNeighbors(), 4);
+            long current5 = this.storage.get(node.getNeighbors(), 5);
+            long current6 = this.storage.get(node.getNeighbors(), 6);
+            long current7 = this.storage.get(node.getNeighbors(), 7);
+            long current8 = this.storage.get(node.getNeighbors(), 8);
+            long current9 = this.storage.get(node.getNeighbors(), 9);
+            long visited0 = this.storage.get(node.getFlooded(), 0);
+            long visited1 = this.storage.get(node.getFlooded(), 1);
+            long visited2 = this.storage.get(node.getFlooded(), 2);
+            long visited3 = this.storage.get(node.getFlooded(), 3);
+            long visited4 = this.storage.get(node.getFlooded(), 4);
+            long visited5 = this.storage.get(node.getFlooded(), 5);
+            long visited6 = this.storage.get(node.getFlooded(), 6);
+            long visited7 = this.storage.get(node.getFlooded(), 7);
+            long visited8 = this.storage.get(node.getFlooded(), 8);
+            long visited9 = this.storage.get(node.getFlooded(), 9);
+            while (true) {
+                visited0 |= current0;
+                visited1 |= current1;
+                visited2 |= current2;
+                visited3 |= current3;
+                visited4 |= current4;
+                visited5 |= current5;
+                visited6 |= current6;
+                visited7 |= current7;
+                visited8 |= current8;
+                visited9 |= current9;
+                int completedColors = 0;
+                for (int colors = nonCompletedColors;  0 != colors;  colors &= colors - 1) {
+                    final int colorBit = Integer.lowestOneBit(colors);
+                    final long[] casColor = this.casByColorBits[colorBit];
+                    if (((visited0 & casColor[0]) == casColor[0]) &&
+                        ((visited1 & casColor[1]) == casColor[1]) &&
+                        ((visited2 & casColor[2]) == casColor[2]) &&
+                        ((visited3 & casColor[3]) == casColor[3]) &&
+                        ((visited4 & casColor[4]) == casColor[4]) &&
+                        ((visited5 & casColor[5]) == casColor[5]) &&
+                        ((visited6 & casColor[6]) == casColor[6]) &&
+                        ((visited7 & casColor[7]) == casColor[7]) &&
+                        ((visited8 & casColor[8]) == casColor[8]) &&
+                        ((visited9 & casColor[9]) == casColor[9])) {
+                        completedColors |= colorBit;
+                    }
+                }
+                if (0 != completedColors) {
+                    nonCompletedColors ^= completedColors;
+                    // We can eliminate colors. Do just that.
+                    // We also combine all these elimination moves.
+                    distance += Integer.bitCount(completedColors);
+                    if (0 == (nonCompletedColors & (nonCompletedColors - 1))) { // one or zero colors remaining
+                        distance += (-nonCompletedColors >>> 31); // nonCompletedColors is never negative // (0 == nonCompletedColors ? 0 : 1)
+                        return distance; // done
+                    } else {
+                        // completed colors
+                        final long[] colorCas = this.casByColorBits[completedColors];
+                        // non-completed colors
+                        // move nodes to next layer
+                        long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0, l7 = 0, l8 = 0, l9 = 0;
+                        long buf = (current0 & colorCas[0]);
+                        current0 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current1 & colorCas[1]);
+                        current1 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current2 & colorCas[2]);
+                        current2 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current3 & colorCas[3]);
+                        current3 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current4 & colorCas[4]);
+                        current4 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current5 & colorCas[5]);
+                        current5 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current6 & colorCas[6]);
+                        current6 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current7 & colorCas[7]);
+                        current7 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 7 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current8 & colorCas[8]);
+                        current8 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 8 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        buf = (current9 & colorCas[9]);
+                        current9 ^= buf;
+                        while (buf != 0) {
+                            final long[] casAdd = this.idsNeighborColorAreaSets[64 * 9 + Long.numberOfTrailingZeros(buf)];
+                            buf &= buf - 1; // clear the least significant bit set
+                            l0 |= casAdd[0];
+                            l1 |= casAdd[1];
+                            l2 |= casAdd[2];
+                            l3 |= casAdd[3];
+                            l4 |= casAdd[4];
+                            l5 |= casAdd[5];
+                            l6 |= casAdd[6];
+                            l7 |= casAdd[7];
+                            l8 |= casAdd[8];
+                            l9 |= casAdd[9];
+                        }
+                        current0 |= l0 & ~visited0;
+                        current1 |= l1 & ~visited1;
+                        current2 |= l2 & ~visited2;
+                        current3 |= l3 & ~visited3;
+                        current4 |= l4 & ~visited4;
+                        current5 |= l5 & ~visited5;
+                        current6 |= l6 & ~visited6;
+                        current7 |= l7 & ~visited7;
+                        current8 |= l8 & ~visited8;
+                        current9 |= l9 & ~visited9;
+                    }
+                } else {
+                    // Nothing found, do the color-blind pseudo-move
+                    // Expand current layer of nodes.
+                    ++distance;
+                    long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0, l7 = 0, l8 = 0, l9 = 0;
+                    while (current0 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[Long.numberOfTrailingZeros(current0)];
+                        current0 &= current0 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current1 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 1 + Long.numberOfTrailingZeros(current1)];
+                        current1 &= current1 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current2 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 2 + Long.numberOfTrailingZeros(current2)];
+                        current2 &= current2 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current3 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 3 + Long.numberOfTrailingZeros(current3)];
+                        current3 &= current3 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current4 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 4 + Long.numberOfTrailingZeros(current4)];
+                        current4 &= current4 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current5 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 5 + Long.numberOfTrailingZeros(current5)];
+                        current5 &= current5 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current6 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 6 + Long.numberOfTrailingZeros(current6)];
+                        current6 &= current6 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current7 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 7 + Long.numberOfTrailingZeros(current7)];
+                        current7 &= current7 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current8 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 8 + Long.numberOfTrailingZeros(current8)];
+                        current8 &= current8 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    while (current9 != 0) {
+                        final long[] casAdd = this.idsNeighborColorAreaSets[64 * 9 + Long.numberOfTrailingZeros(current9)];
+                        current9 &= current9 - 1; // clear the least significant bit set
+                        l0 |= casAdd[0];
+                        l1 |= casAdd[1];
+                        l2 |= casAdd[2];
+                        l3 |= casAdd[3];
+                        l4 |= casAdd[4];
+                        l5 |= casAdd[5];
+                        l6 |= casAdd[6];
+                        l7 |= casAdd[7];
+                        l8 |= casAdd[8];
+                        l9 |= casAdd[9];
+                    }
+                    current0 = l0 & ~visited0;
+                    current1 = l1 & ~visited1;
+                    current2 = l2 & ~visited2;
+                    current3 = l3 & ~visited3;
+                    current4 = l4 & ~visited4;
+                    current5 = l5 & ~visited5;
+                    current6 = l6 & ~visited6;
+                    current7 = l7 & ~visited7;
+                    current8 = l8 & ~visited8;
+                    current9 = l9 & ~visited9;
+                }
+            }
+        }
+    }
+
+
+    // END GENERATED classes
 }
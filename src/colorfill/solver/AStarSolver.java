@@ -17,12 +17,18 @@
 
 package colorfill.solver;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import colorfill.model.Board;
 import colorfill.model.ColorAreaSet;
@@ -38,11 +44,212 @@ public class AStarSolver extends AbstractSolver {
     private final ColorAreaSet.IteratorAnd iterAnd;
     private final long[][] casByColorBits;
     private final int allColorBits;
-    private Queue<AStarNode> open;
+    private AStarBucketQueue open;
     private HashMapLongArray2Byte map;
     private StateStorage storage;
     private final long[] casFlooded, casNeighbors, casNextFlooded, casNextNeighbors;
     private final long[][] idsNeighborColorAreaSets;
+    private BoardSymmetry symmetry;
+
+    private static Path storageDirectory = null; // null = use the Java heap
+    private static boolean compactStates = false;
+    private static int hashTableSegments = 1;
+    private static boolean robinHoodHashing = false;
+    private static boolean hashFingerprints = false, hashFingerprintsVerified = true;
+    private static long memoryBudget = Long.MAX_VALUE;
+    /** number of bytes allocated by all A* searches that run at the same time, as reported by each search from time to time */
+    private static final AtomicLong memoryBytesInUse = new AtomicLong();
+    private static Class<? extends DfsStrategy> upperBoundStrategy = null;
+    private static int anytimeWeight = 0; // 0 = disabled
+    private static Path checkpointDirectory = null; // null = disabled
+    private static long checkpointIntervalNanos;
+
+    private static final int MAX_WEIGHT = 64;
+    private static final int MEMORY_CHECK_MASK = 0xfff;
+    private static final int TIME_CHECK_MASK = 0xff;
+    private int weight = 1, firstWeight = 1, numRestarts;
+    private boolean isAnytime;
+    private Path checkpointFile;
+    private AStarCheckpoint resume;
+    private long nanoLastCheckpoint;
+    private long reportedMemoryBytes; // the part of memoryBytesInUse that has been added by this search
+
+    /**
+     * store the states of the A* search in memory-mapped scratch files, instead of the Java heap.
+     * this allows searches that need more memory than the maximum heap size.
+     * @param directory for the scratch files, or null to use the Java heap (default)
+     */
+    public static void setStorageDirectory(final String directory) {
+        storageDirectory = (null == directory ? null : Paths.get(directory));
+    }
+
+    /**
+     * store only the "flooded" ColorAreaSet of each state, and not the "neighbors" ColorAreaSet.
+     * the neighbors are recomputed from the flooded areas when a node is expanded.
+     * this halves the memory used by StateStorage, at the cost of some CPU time.
+     * @param compact true to enable the compact states, false to store both sets (default)
+     */
+    public static void setCompactStates(final boolean compact) {
+        compactStates = compact;
+    }
+
+    static boolean isCompactStates() {
+        return compactStates;
+    }
+
+    /**
+     * split the hash table (closed set) of the A* search into this number of segments.
+     * each segment grows on its own, so a resize only affects a part of the table:
+     * it's shorter, and the old and the new table of only this segment are allocated at the same time.
+     * @param segments must be a power of two; 1 = no segmentation (default)
+     */
+    public static void setHashTableSegments(final int segments) {
+        if ((segments < 1) || (0 != (segments & (segments - 1))) || (segments > HashMapLongArray2Byte.MAX_SEGMENTS)) {
+            throw new IllegalArgumentException("the number of hash table segments must be a power of two, from 1 to " + HashMapLongArray2Byte.MAX_SEGMENTS + ": " + segments);
+        }
+        hashTableSegments = segments;
+    }
+
+    /**
+     * use Robin Hood hashing in the hash table (closed set) of the A* search, instead of plain linear probing.
+     * each key is stored at most as far from its home slot as the keys it has passed,
+     * so the search for a key that is not stored (a new state, the most frequent case) can stop early,
+     * instead of running to the next empty slot, which is far away when the table is almost full.
+     * @param robinHood true to enable Robin Hood hashing, false for linear probing (default)
+     */
+    public static void setRobinHoodHashing(final boolean robinHood) {
+        robinHoodHashing = robinHood;
+    }
+
+    /**
+     * store a 64bit fingerprint of each key in the hash table (closed set) of the A* search.
+     * when the 32bit hash values of two keys are equal, their fingerprints are compared first,
+     * which avoids the access to the StateStorage for most keys that are not equal.
+     * without verification, keys with the same hash value and fingerprint are considered equal,
+     * so the StateStorage is not accessed at all by the lookup, but the probability of 2^-96
+     * that two different states are confused means that the solution is not proven to be optimal anymore.
+     * @param fingerprints true to store the fingerprints, false to compare the keys only (default)
+     * @param verified true to compare the keys after the fingerprints have been found equal
+     */
+    public static void setHashFingerprints(final boolean fingerprints, final boolean verified) {
+        hashFingerprints = fingerprints;
+        hashFingerprintsVerified = verified;
+    }
+
+    /**
+     * set the memory budget of the AStar (A*) solver, for the StateStorage, SolutionTree, hash table and open queue.
+     * when it's exceeded, then the search is restarted as weighted A* (the heuristic is multiplied by 2, 4, 8, ...)
+     * which visits fewer states, but the solution found may not be optimal anymore.
+     * the budget is shared by all A* searches that run at the same time: the boards of a parallel batch run
+     * and the threads of AStarParallelSolver. a search falls back when the sum of their memory exceeds it.
+     * @param bytes memory budget, or Long.MAX_VALUE for no limit (default)
+     */
+    public static void setMemoryBudget(final long bytes) {
+        memoryBudget = (bytes > 0 ? bytes : Long.MAX_VALUE);
+    }
+
+    static long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * change the number of bytes allocated by all A* searches that run at the same time.
+     * @param delta change of the memory of the caller since its previous report
+     * @return number of bytes allocated by all searches, to be compared with the memory budget
+     */
+    static long addMemoryBytesInUse(final long delta) {
+        return memoryBytesInUse.addAndGet(delta);
+    }
+
+    /**
+     * before the A* search, solve the board quickly using the DfsSolver with this strategy.
+     * the length of its solution is an upper bound, and all nodes whose estimated cost is not lower
+     * than the best known solution are not added to the open queue, which saves memory on deep boards.
+     * with an inadmissible strategy like AStarFlolleStrategy the result is never longer than the upper bound,
+     * but it's not guaranteed to be the shortest solution below this bound.
+     * @param strategyClass fast strategy, like DfsGreedyNextStrategy, or null for no upper bound (default)
+     */
+    public static void setUpperBoundStrategy(final Class<? extends DfsStrategy> strategyClass) {
+        upperBoundStrategy = strategyClass;
+    }
+
+    /**
+     * anytime search: start with weighted A* using this weight, which finds a solution quickly,
+     * then repeat the search with half the weight each time, until the optimal search (weight 1) has finished.
+     * each repeated search drops the nodes that can't lead to a shorter solution than the best one so far,
+     * and each shorter solution is reported by SolverEventListener.solutionImproved() as soon as it's found.
+     * when the memory budget is exceeded, the best solution found so far is the result.
+     * @param weight first weight (a power of 2, like 8), or 0 to disable the anytime search (default)
+     */
+    public static void setAnytimeWeight(final int weight) {
+        anytimeWeight = (weight > 1 ? Math.min(Integer.highestOneBit(weight), MAX_WEIGHT >> 1) : 0);
+    }
+
+    /**
+     * write a checkpoint of the search to a file in this directory from time to time.
+     * when the same board is solved again, and its checkpoint file exists, then the search is resumed from it.
+     * this way a long search survives a restart of the JVM, and it can be moved to another machine.
+     * the file is deleted when the board has been solved. when the time limit stops the search,
+     * then a checkpoint is written and kept, so that the search can be continued later.
+     * @param directory for the checkpoint files, or null to disable them (default)
+     * @param intervalMillis time between two checkpoints in milliseconds
+     */
+    public static void setCheckpoint(final String directory, final long intervalMillis) {
+        checkpointDirectory = (null == directory ? null : Paths.get(directory));
+        checkpointIntervalNanos = Math.max(0, intervalMillis) * 1000000L;
+    }
+
+    /**
+     * solve the board using the strategy set by setUpperBoundStrategy(),
+     * and add the solution to the solver if it's not longer than its previous solution.
+     */
+    static void addUpperBoundSolution(final AbstractSolver solver, final int startPos) throws InterruptedException {
+        final Class<? extends DfsStrategy> strategyClass = upperBoundStrategy;
+        if (null != strategyClass) {
+            final DfsSolver dfsSolver = new DfsSolver(solver.board);
+            dfsSolver.setStrategy(strategyClass);
+            dfsSolver.execute(startPos, null);
+            solver.addSolution(dfsSolver.getSolution().getSteps());
+        }
+    }
+
+    /**
+     * start the search with this weight of the heuristic, instead of 1 (optimal search).
+     */
+    void setFirstWeight(final int weight) {
+        this.firstWeight = weight;
+    }
+
+    /**
+     * compute the neighbors of the flooded areas, which is the information
+     * that's not stored in StateStorage when compact states are enabled.
+     */
+    static void recomputeNeighbors(final long[] casNeighbors, final long[] casFlooded, final long[][] idsNeighborColorAreaSets) {
+        ColorAreaSet.clear(casNeighbors);
+        ColorAreaSet.addAllLookup(casNeighbors, casFlooded, idsNeighborColorAreaSets);
+        ColorAreaSet.removeAll(casNeighbors, casFlooded);
+    }
+
+    /**
+     * create the StateStorage as configured by setStorageDirectory().
+     */
+    static StateStorage makeStateStorage(final Board board) {
+        return makeStateStorage(board, StateStorage.MEMORY_BLOCK_SIZE);
+    }
+
+    /**
+     * create the StateStorage as configured by setStorageDirectory().
+     * @param firstBlockSize initial size of the first memory block (number of "long"), a power of two;
+     *        the block grows up to MEMORY_BLOCK_SIZE before the next one is allocated
+     */
+    static StateStorage makeStateStorage(final Board board, final int firstBlockSize) {
+        final Path directory = storageDirectory;
+        if (null == directory) {
+            return new HeapStateStorage(board, firstBlockSize);
+        } else {
+            return new MappedStateStorage(board, firstBlockSize, directory);
+        }
+    }
 
     /**
      * construct a new solver for this Board.
@@ -86,18 +293,46 @@ public class AStarSolver extends AbstractSolver {
      */
     @Override
     public String getSolverInfo() {
-        return null; // no info available
+        if (null == this.map) {
+            return null;
+        }
+        return this.getSolverName() + " " + getMemoryInfo(this.map.size(), this.storage.getUsedBytes(), this.map.getSizeBytes())
+                + " " + this.getModeInfo();
+    }
+
+    /**
+     * describe the search mode that produced the solution.
+     */
+    String getModeInfo() {
+        return (this.isTimeLimitExceeded() ? "mode=timeLimit" : 1 == this.weight ? "mode=optimal" : "mode=weighted(w=" + this.weight + ")")
+                + (this.isAnytime ? " anytime" : "")
+                + (null == this.symmetry ? "" : " symmetries=" + this.symmetry.size())
+                + (0 == this.numRestarts ? "" : " restarts=" + this.numRestarts);
+    }
+
+    /**
+     * describe the memory used by the stored states.
+     */
+    static String getMemoryInfo(final long numStates, final long storageBytes, final long mapBytes) {
+        return "states=" + numStates
+                + " storage=" + (storageBytes >> 20) + "MiB"
+                + " hashtable=" + (mapBytes >> 20) + "MiB"
+                + " bytesPerState=" + (0 == numStates ? 0 : (storageBytes + mapBytes) / numStates)
+                + (compactStates ? " compact" : "");
     }
 
-    private AStarStrategy makeStrategy(final StateStorage storage) {
+    /**
+     * create the strategy object that works on this Board and StateStorage.
+     */
+    static AStarStrategy makeStrategy(final Class<? extends AStarStrategy> strategyClass, final Board board, final StateStorage storage) {
         final AStarStrategy result;
-        if (AStarPuchertStrategy.class.equals(this.strategyClass)) {
-            result = AStarPuchertStrategy.getInstance(this.board, storage);
-        } else if (AStarFlolleStrategy.class.equals(this.strategyClass)) {
-            result = new AStarFlolleStrategy(this.board, storage);
+        if (AStarPuchertStrategy.class.equals(strategyClass)) {
+            result = AStarPuchertStrategy.getInstance(board, storage);
+        } else if (AStarFlolleStrategy.class.equals(strategyClass)) {
+            result = new AStarFlolleStrategy(board, storage);
         } else {
             throw new IllegalArgumentException(
-                    "unsupported strategy class " + this.strategyClass.getName());
+                    "unsupported strategy class " + strategyClass.getName());
         }
         return result;
     }
@@ -107,15 +342,228 @@ public class AStarSolver extends AbstractSolver {
      */
     @Override
     protected void executeInternal(final int startPos) throws InterruptedException {
-        this.storage = new StateStorage(this.board);
-        this.strategy = this.makeStrategy(this.storage);
-        this.open = new PriorityQueue<AStarNode>(AStarNode.strongerComparator());
-        this.open.offer(new AStarNode(this.board, this.board.getColorArea4Cell(startPos), this.storage, this.solutionTree));
-        this.map = new HashMapLongArray2Byte(this.board, this.storage);
-        AStarNode recycleNode = null;
-        while (this.open.size() > 0) {
+        this.numRestarts = 0;
+        this.isAnytime = false;
+        this.symmetry = makeBoardSymmetry(this.board, startPos);
+        addUpperBoundSolution(this, startPos);
+        int firstWeight = this.firstWeight;
+        boolean isAnytime = (anytimeWeight > 1) && (1 == firstWeight);
+        if (isAnytime) {
+            firstWeight = anytimeWeight;
+        }
+        final Path directory = checkpointDirectory;
+        this.checkpointFile = (null == directory || 1 != this.firstWeight ? null : AStarCheckpoint.getFile(directory, this.board, startPos));
+        this.resume = (null == this.checkpointFile ? null : AStarCheckpoint.open(this.checkpointFile, this.board, startPos, this.getSolverName(), compactStates,
+                null != this.symmetry));
+        if (null != this.resume) {
+            firstWeight = this.resume.getWeight();
+            isAnytime = this.resume.isAnytime();
+            this.numRestarts = this.resume.getNumRestarts();
+            if (null != this.resume.getSolution()) {
+                this.addSolution(this.resume.getSolution());
+            }
+        }
+        try {
+            if (isAnytime) {
+                this.executeAnytime(startPos, firstWeight);
+            } else {
+                this.executeRestarts(startPos, firstWeight);
+            }
+        } finally {
+            if (null != this.resume) {
+                this.resume.close();
+                this.resume = null;
+            }
+        }
+        if (false == this.isTimeLimitExceeded()) {
+            this.deleteCheckpoint(); // solved
+        }
+    }
+
+    /**
+     * write the checkpoint of the search. it's not possible while a node is being expanded,
+     * so it's done between two nodes.
+     */
+    private void writeCheckpoint(final int startPos) {
+        try {
+            AStarCheckpoint.write(this.checkpointFile, this.board, startPos, this.getSolverName(), compactStates, null != this.symmetry,
+                    this.weight, this.isAnytime, this.numRestarts, (this.solutions.isEmpty() ? null : this.solutions.get(0).getSteps()),
+                    this.storage, this.solutionTree, this.map, this.open);
+        } catch (IOException e) {
+            System.out.println("can't write the checkpoint file " + this.checkpointFile + " : " + e); // the search goes on without it
+        }
+        this.nanoLastCheckpoint = System.nanoTime();
+    }
+
+    /**
+     * delete the checkpoint file, after the search it belongs to has been finished or abandoned.
+     */
+    private void deleteCheckpoint() {
+        if (null != this.checkpointFile) {
+            AStarCheckpoint.delete(this.checkpointFile);
+        }
+    }
+
+    /**
+     * run the search, and restart it with a higher weight each time the memory budget is exceeded.
+     */
+    private void executeRestarts(final int startPos, final int firstWeight) throws InterruptedException {
+        for (this.weight = firstWeight;  ;  this.weight <<= 1) {
+            final boolean isBounded = (this.weight < MAX_WEIGHT); // the last attempt ignores the memory budget
+            this.open = null; // release the memory of the previous attempt
+            this.map = null;
+            this.storage = makeStateStorage(this.board);
+            try {
+                if (this.executeSearch(startPos, isBounded ? memoryBudget : Long.MAX_VALUE)) {
+                    return;
+                }
+            } catch (OutOfMemoryError e) {
+                if (false == isBounded) {
+                    throw e;
+                }
+                this.open = null;
+                this.map = null;
+            } finally {
+                this.collectMetrics(this.metrics);
+                this.releaseMemoryBytes();
+                this.storage.close();
+            }
+            ++this.numRestarts; // memory budget exceeded: try again with a weighted heuristic
+            ++this.metrics.memoryRestarts;
+            this.deleteCheckpoint();
+        }
+    }
+
+    /**
+     * run the searches of the anytime mode, with decreasing weights.
+     * @see #setAnytimeWeight(int)
+     */
+    private void executeAnytime(final int startPos, final int firstWeight) throws InterruptedException {
+        this.isAnytime = true;
+        int finishedWeight = 0;
+        for (this.weight = firstWeight;  this.weight >= 1;  this.weight >>= 1) {
+            this.open = null; // release the memory of the previous search
+            this.map = null;
+            this.storage = makeStateStorage(this.board);
+            boolean finished = false;
+            try {
+                finished = this.executeSearch(startPos, memoryBudget);
+            } catch (OutOfMemoryError e) {
+                this.open = null;
+                this.map = null;
+            } finally {
+                this.collectMetrics(this.metrics);
+                this.releaseMemoryBytes();
+                this.storage.close();
+            }
+            if ((false == finished) || this.isTimeLimitExceeded()) {
+                break; // memory budget or time limit exceeded
+            }
+            finishedWeight = this.weight;
+            this.deleteCheckpoint();
+        }
+        if (0 != finishedWeight) {
+            this.weight = finishedWeight; // the result is the solution of this search
+        } else if (this.solutions.isEmpty() && (false == this.isTimeLimitExceeded())) {
+            // not even the first search has finished: continue like the regular search
+            this.isAnytime = false;
+            ++this.numRestarts;
+            ++this.metrics.memoryRestarts;
+            this.executeRestarts(startPos, firstWeight << 1);
+        }
+    }
+
+    /**
+     * add the sizes of the data structures of the search to the metrics.
+     */
+    private void collectMetrics(final SolverMetrics m) {
+        m.storageBytes = Math.max(m.storageBytes, this.storage.getSizeBytes());
+        m.solutionTreeEntries += this.solutionTree.size();
+        if (null != this.open) {
+            m.peakOpenSize = Math.max(m.peakOpenSize, this.open.getMaxSize());
+        }
+        if (null != this.map) {
+            m.hashTableResizes += this.map.getNumResizes();
+            m.keyCompares += this.map.getNumKeyCompares();
+            m.hashCollisions += this.map.getNumHashCollisions();
+        }
+    }
+
+    /**
+     * @return number of bytes allocated by the data structures of the search
+     */
+    private long getMemoryBytes() {
+        return this.storage.getSizeBytes() + this.solutionTree.getSizeBytes() + this.map.getSizeBytes() + this.open.getSizeBytes();
+    }
+
+    /**
+     * update the memory of all concurrent A* searches with the current memory of this search.
+     * @return number of bytes allocated by all A* searches that run at the same time
+     */
+    private long reportMemoryBytes() {
+        final long bytes = this.getMemoryBytes();
+        final long delta = bytes - this.reportedMemoryBytes;
+        this.reportedMemoryBytes = bytes;
+        return addMemoryBytesInUse(delta);
+    }
+
+    /**
+     * remove the memory of this search from the memory of all concurrent A* searches, when it's finished.
+     */
+    private void releaseMemoryBytes() {
+        addMemoryBytesInUse(-this.reportedMemoryBytes);
+        this.reportedMemoryBytes = 0;
+    }
+
+    /**
+     * run the search.
+     * @return false if it has been stopped because the memory budget was exceeded
+     */
+    private boolean executeSearch(final int startPos, final long budget) throws InterruptedException {
+        this.strategy = makeStrategy(this.strategyClass, this.board, this.storage);
+        this.open = new AStarBucketQueue();
+        this.map = new HashMapLongArray2Byte(this.board, this.storage, false); // a state is rarely reached again by a shorter path
+        this.map.setSymmetry(this.symmetry); // before the checkpoint is read, because it's used for the fingerprints
+        if (null == this.resume) {
+            this.open.offer(new AStarNode(this.board, this.board.getColorArea4Cell(startPos), this.storage, this.solutionTree));
+        } else {
+            final AStarCheckpoint checkpoint = this.resume;
+            this.resume = null;
+            checkpoint.read(this.storage, this.solutionTree, this.map, this.open);
+            checkpoint.close();
+        }
+        this.nanoLastCheckpoint = System.nanoTime();
+        final boolean compact = compactStates;
+        // in the optimal search, the nodes that can't lead to a shorter solution are dropped.
+        // a weighted search keeps them, because it should find any solution within the memory budget,
+        // unless it's part of the anytime search, which only looks for shorter solutions.
+        final boolean isUpperBound = ((1 == this.weight) || this.isAnytime) && (this.solutionSize <= MAX_SEARCH_DEPTH);
+        final int scratchNeighbors = (compact || isUpperBound ? this.storage.put(this.casNextNeighbors) : 0);
+        final AStarNode currentNode = new AStarNode();
+        AStarNode nextNode = new AStarNode();
+        final int weight = this.weight;
+        final SolverMetrics metrics = this.metrics;
+        int numPolled = 0;
+        while (this.open.poll(currentNode)) {
             if (Thread.interrupted()) { throw new InterruptedException(); }
-            final AStarNode currentNode = this.open.poll();
+            if (0 == (++numPolled & TIME_CHECK_MASK)) {
+                if (this.isTimeUp()) {
+                    if (null != this.checkpointFile) {
+                        this.open.offer(currentNode); // it has not been expanded yet
+                        this.writeCheckpoint(startPos); // a later run can resume the search
+                    }
+                    return true; // stop, the result is the best solution found so far
+                }
+                if ((0 == (numPolled & MEMORY_CHECK_MASK)) && (this.reportMemoryBytes() > budget)) {
+                    return false;
+                }
+                if ((null != this.checkpointFile) && (System.nanoTime() - this.nanoLastCheckpoint > checkpointIntervalNanos)) {
+                    this.open.offer(currentNode); // it has not been expanded yet
+                    this.writeCheckpoint(startPos);
+                    continue; // while
+                }
+            }
+            ++metrics.nodesExpanded;
             this.storage.get(currentNode.getFlooded(), this.casFlooded);
             int nonCompletedColors = this.allColorBits;
             for (int colorBit = 1;  colorBit < this.casByColorBits.length;  colorBit <<= 1) {
@@ -125,62 +573,91 @@ public class AStarSolver extends AbstractSolver {
             }
             final int prevColorBit = 1 << (currentNode.getSolutionEntry() & SolutionTree.COLOR_BIT_MASK);
             // play all possible colors
-            this.storage.get(currentNode.getNeighbors(), this.casNeighbors);
+            if (compact) {
+                recomputeNeighbors(this.casNeighbors, this.casFlooded, this.idsNeighborColorAreaSets);
+            } else {
+                this.storage.get(currentNode.getNeighbors(), this.casNeighbors);
+            }
             final int nextSolutionSize = currentNode.getSolutionSize() + 1;
             for (int colors = (nonCompletedColors & ~prevColorBit);  0 != colors;  colors &= colors - 1) {
                 final int colorBit = Integer.lowestOneBit(colors);
                 final long[] casColorBit = this.casByColorBits[colorBit];
-                if (ColorAreaSet.intersects(this.casNeighbors, casColorBit)
-                        && this.canPlay(colorBit, this.iterAnd.init(this.casNeighbors, casColorBit), prevColorBit)) {
+                if (false == ColorAreaSet.intersects(this.casNeighbors, casColorBit)) {
+                    continue; // for (colors)
+                }
+                if (false == canPlay(colorBit, this.iterAnd.init(this.casNeighbors, casColorBit), prevColorBit, this.casFlooded, this.casByColorBits, this.idsNeighborColorAreaSets)) {
+                    ++metrics.canPlayPrunes;
+                } else {
                     // play, part 1
                     ColorAreaSet.copyFrom(this.casNextFlooded, this.casFlooded);
                     ColorAreaSet.addAllAnd(this.casNextFlooded, this.casNeighbors, casColorBit);
                     final int nextFloodedEntry = this.map.putIfLess(this.casNextFlooded, nextSolutionSize);
-                    if (nextFloodedEntry != 0) {
+                    if (nextFloodedEntry == 0) {
+                        ++metrics.duplicatesRejected;
+                    } else {
+                        ++metrics.nodesGenerated;
                         // play, part 2
                         ColorAreaSet.copyFrom(this.casNextNeighbors, this.casNeighbors);
                         ColorAreaSet.addAllAndLookup(this.casNextNeighbors, this.casNeighbors, casColorBit, this.idsNeighborColorAreaSets);
                         ColorAreaSet.removeAll(this.casNextNeighbors, this.casNextFlooded);
-                        final AStarNode nextNode = currentNode.recycleOrNew(recycleNode);
+                        nextNode = currentNode.recycleOrNew(nextNode);
                         nextNode.setFlooded(nextFloodedEntry);
-                        nextNode.setNeighbors(this.storage.put(this.casNextNeighbors));
-                        nextNode.addSolutionEntry((byte)Integer.numberOfTrailingZeros(colorBit), this.solutionTree);
+                        if (compact || isUpperBound) {
+                            this.storage.set(scratchNeighbors, this.casNextNeighbors); // only used by estimateCost()
+                            nextNode.setNeighbors(scratchNeighbors);
+                        } else {
+                            nextNode.setNeighbors(this.storage.put(this.casNextNeighbors));
+                        }
                         // finished?
                         if (ColorAreaSet.containsAll(this.casNextFlooded, casColorBit) // color completed
                                 && (0 == ((nonCompletedColors ^= colorBit) & (nonCompletedColors - 1)))) { // one or zero colors remaining
+                            nextNode.addSolutionEntry((byte)Integer.numberOfTrailingZeros(colorBit), this.solutionTree);
                             if (0 != nonCompletedColors) {
                                 nextNode.addSolutionEntry((byte)Integer.numberOfTrailingZeros(nonCompletedColors), this.solutionTree);
                             }
                             this.addSolution(nextNode.getSolution(this.solutionTree));
                             assert printQueueStatistics(this.open);
-                            return;
+                            return true;
                         } else {
-                            nextNode.setEstimatedCost(nextSolutionSize + this.strategy.estimateCost(nextNode, nonCompletedColors));
-                            this.open.offer(nextNode);
+                            int estimate = this.map.getEstimate();
+                            if (estimate < 0) {
+                                estimate = metrics.estimateCost(this.strategy, nextNode, nonCompletedColors);
+                                this.map.setEstimate(estimate);
+                            } else {
+                                ++metrics.estimateCostCacheHits;
+                            }
+                            if (isUpperBound && (nextSolutionSize + estimate >= this.solutionSize)) {
+                                ++metrics.upperBoundPrunes; // can't lead to a shorter solution
+                            } else {
+                                if (isUpperBound && (false == compact)) {
+                                    nextNode.setNeighbors(this.storage.put(this.casNextNeighbors));
+                                }
+                                nextNode.addSolutionEntry((byte)Integer.numberOfTrailingZeros(colorBit), this.solutionTree);
+                                nextNode.setEstimatedCost(nextSolutionSize + weight * estimate);
+                                this.open.offer(nextNode); // the queue copies the data, so nextNode can be reused
+                            }
                             nonCompletedColors |= colorBit;
-                            recycleNode = null;
                         }
                     }
                 }
             }
-            recycleNode = currentNode;
         }
+        return true;
     }
 
 
-    private boolean printQueueStatistics(final Queue<AStarNode> queue) {
-        final SortedMap<Integer, Integer> histogram = new TreeMap<>();
-        for (final AStarNode node : queue) {
-            final Integer key = Integer.valueOf(node.getEstimatedCostSolutionSize());
-            final Integer value = histogram.get(key);
-            histogram.put(key, Integer.valueOf((value != null ? value.intValue() : 0) + 1));
-        }
+    private boolean printQueueStatistics(final AStarBucketQueue queue) {
         final StringBuilder sb = new StringBuilder();
         sb.append(this.getSolverName()).append("_estimation,solutionsteps,count\n");
-        for (final Map.Entry<Integer, Integer> entry : histogram.entrySet()) {
-            sb.append(AStarNode.getEstimatedCost(entry.getKey().intValue())).append(',');
-            sb.append(AStarNode.getSolutionSize (entry.getKey().intValue())).append(',');
-            sb.append(entry.getValue()).append('\n');
+        for (int estimatedCost = 0;  estimatedCost <= queue.getMaxEstimatedCost();  ++estimatedCost) {
+            for (int solutionSize = MAX_SEARCH_DEPTH;  solutionSize >= 0;  --solutionSize) {
+                final int count = queue.size(estimatedCost, solutionSize);
+                if (0 != count) {
+                    sb.append(estimatedCost).append(',');
+                    sb.append(solutionSize).append(',');
+                    sb.append(count).append('\n');
+                }
+            }
         }
         System.out.print(sb.toString());
         return true;
@@ -192,13 +669,14 @@ public class AStarSolver extends AbstractSolver {
      * the idea is taken from the program "floodit" by Aaron and Simon Puchert,
      * which can be found at <a>https://github.com/aaronpuchert/floodit</a>
      */
-    private boolean canPlay(final int nextColorBit, final ColorAreaSet.IteratorAnd nextColorNeighbors, final int currentColorBit) {
+    static boolean canPlay(final int nextColorBit, final ColorAreaSet.IteratorAnd nextColorNeighbors, final int currentColorBit,
+            final long[] casFlooded, final long[][] casByColorBits, final long[][] idsNeighborColorAreaSets) {
         // did the previous move add any new "nextColor" neighbors?
-        final long[] casNotCurrentColor = this.casByColorBits[this.allColorBits ^ currentColorBit];
+        final long[] casNotCurrentColor = casByColorBits[(casByColorBits.length - 1) ^ currentColorBit];
 next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nextOrNegative()) >= 0;  ) {
-            final long[] casPrevNeighbors = this.idsNeighborColorAreaSets[nextColorNeighbor];
+            final long[] casPrevNeighbors = idsNeighborColorAreaSets[nextColorNeighbor];
             for (int i = 0;  i < casNotCurrentColor.length;  ++i) {
-                if ((casNotCurrentColor[i] & casPrevNeighbors[i] & this.casFlooded[i]) != 0) {
+                if ((casNotCurrentColor[i] & casPrevNeighbors[i] & casFlooded[i]) != 0) {
                     continue next;
                 }
             }
@@ -209,12 +687,12 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
         } else {
             nextColorNeighbors.restart();
             // should nextColor have been played before currColor?
-            final long[] casCurrentColor = this.casByColorBits[currentColorBit];
+            final long[] casCurrentColor = casByColorBits[currentColorBit];
             for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nextOrNegative()) >= 0;  ) {
-                final long[] casPrevNeighbors = this.idsNeighborColorAreaSets[nextColorNeighbor];
+                final long[] casPrevNeighbors = idsNeighborColorAreaSets[nextColorNeighbor];
                 for (int i = 0;  i < casCurrentColor.length;  ++i) {
                     final long n = casCurrentColor[i] & casPrevNeighbors[i];
-                    if ((n & this.casFlooded[i]) != n) {
+                    if ((n & casFlooded[i]) != n) {
                         return false;
                     }
                 }
@@ -231,8 +709,8 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
         // configure this:
         private static final int MEMORY_BLOCK_SHIFT   = 20;   // 1 << 20 = 1*4 MiB
         // derived values:
-        private static final int COLOR_BIT_SHIFT      = Integer.SIZE - Integer.numberOfLeadingZeros(Board.MAX_NUMBER_OF_COLORS - 1);
-        private static final int COLOR_BIT_MASK       = (1 << COLOR_BIT_SHIFT) - 1;
+        static final int COLOR_BIT_SHIFT              = Integer.SIZE - Integer.numberOfLeadingZeros(Board.MAX_NUMBER_OF_COLORS - 1);
+        static final int COLOR_BIT_MASK               = (1 << COLOR_BIT_SHIFT) - 1;
         private static final int COLOR_BIT_MASK_INV   = ~COLOR_BIT_MASK;
         private static final int MEMORY_BLOCK_SIZE    = 1 << MEMORY_BLOCK_SHIFT;
         private static final int MEMORY_BLOCK_MASK    = MEMORY_BLOCK_SIZE - 1;
@@ -273,16 +751,67 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
                 if (0 != (Integer.rotateLeft(this.nextEntry, COLOR_BIT_SHIFT) & COLOR_BIT_MASK)) {
                     throw new IllegalStateException(this.getClass().getSimpleName() + ".add() : memory capacity exceeded; number of entries stored=" + this.nextEntry);
                 }
+                final SolverEventListener listener = eventListener;
+                final long nanoStart = (null == listener ? 0 : System.nanoTime());
                 if (this.memoryBlocks.length <= this.numMemoryBlocks) {
                     this.memoryBlocks = Arrays.copyOf(this.memoryBlocks, this.memoryBlocks.length * 2);
                 }
                 this.nextMemoryBlock = new int[MEMORY_BLOCK_SIZE];
                 this.memoryBlocks[this.numMemoryBlocks++] = this.nextMemoryBlock;
                 this.nextEntryOffset = 0;
+                if (null != listener) {
+                    listener.memoryBlockAllocated("SolutionTree", (long)MEMORY_BLOCK_SIZE * Integer.BYTES, this.getSizeBytes(), System.nanoTime() - nanoStart);
+                }
             }
             return result;
         }
 
+        /**
+         * @return number of entries stored in this SolutionTree
+         */
+        protected int size() {
+            return this.nextEntry;
+        }
+
+        /**
+         * @return number of bytes allocated by this SolutionTree
+         */
+        protected long getSizeBytes() {
+            return (long)this.numMemoryBlocks * MEMORY_BLOCK_SIZE * Integer.BYTES;
+        }
+
+        /**
+         * write the used part of this SolutionTree, for AStarCheckpoint.
+         */
+        void write(final DataOutput out) throws IOException {
+            out.writeInt(this.numMemoryBlocks);
+            out.writeInt(this.nextEntry);
+            out.writeInt(this.nextEntryOffset);
+            for (int b = 0;  b < this.numMemoryBlocks;  ++b) {
+                final int[] block = this.memoryBlocks[b];
+                for (int i = 0, length = (b == this.numMemoryBlocks - 1 ? this.nextEntryOffset : MEMORY_BLOCK_SIZE);  i < length;  ++i) {
+                    out.writeInt(block[i]);
+                }
+            }
+        }
+
+        /**
+         * read the data written by write(), instead of init().
+         */
+        void read(final DataInput in) throws IOException {
+            this.numMemoryBlocks = in.readInt();
+            this.nextEntry = in.readInt();
+            this.nextEntryOffset = in.readInt();
+            this.memoryBlocks = new int[this.numMemoryBlocks][];
+            for (int b = 0;  b < this.numMemoryBlocks;  ++b) {
+                final int[] block = this.memoryBlocks[b] = new int[MEMORY_BLOCK_SIZE];
+                for (int i = 0, length = (b == this.numMemoryBlocks - 1 ? this.nextEntryOffset : MEMORY_BLOCK_SIZE);  i < length;  ++i) {
+                    block[i] = in.readInt();
+                }
+            }
+            this.nextMemoryBlock = this.memoryBlocks[this.numMemoryBlocks - 1];
+        }
+
         /**
          * Extract the solution that ends with this move.
          * @param entry of last move
@@ -306,32 +835,247 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
      * with the aim of being faster and more efficient than the generic Java HashMap.
      * The data type of its keys is "fixed-size array of long" and its values are of type "byte".
      * Some simple and well-known methods are used: open addressing with linear probing and MurmurHash3-derived hashing (or tabulation hashing).
+     * Optionally, the linear probing uses Robin Hood hashing, see setRobinHoodHashing(). The 32bit hash value
+     * that is stored with each key acts as its tag: it gives the home slot of the key, so the distance of
+     * the key from its home slot is known without accessing the StateStorage.
+     * Optionally, a 64bit fingerprint of each key is stored as well, see setHashFingerprints().
+     * <p>
+     * The table is split into segments, selected by the highest bits of the hash value, see setHashTableSegments().
+     * A segment grows by incremental rehashing: when it's full, a table of twice the size is allocated,
+     * and each following putIfLess() into this segment moves a few entries from the old table to the new one.
+     * Until all entries have been moved, the keys are looked up in both tables.
+     * This avoids the long pause of rehashing the whole table at once, when there are many millions of entries.
+     * <p>
+     * The segments don't share any data, so they are a basis for several threads that insert into disjoint segments.
+     * This class is not thread-safe though: the StateStorage and the result of the last putIfLess() are shared.
      */
-    private static class HashMapLongArray2Byte {
-        private final double LOAD_FACTOR = 0.9; // CONFIGURE THIS
+    protected static class HashMapLongArray2Byte {
+        static final int MAX_SEGMENTS = 1 << 8;
+        private static final double LOAD_FACTOR = 0.9; // CONFIGURE THIS
+        private static final int INITIAL_TABLE_SIZE = 1 << 16; // must be a power of two! CONFIGURE THIS
+        private static final int REHASH_SLOTS = 8; // number of old slots moved by each putIfLess() during a resize; must be greater than 1 / LOAD_FACTOR
         private final int KEY_SIZE; // number of "long" elements in each key
 //        private final int[][] hashLookup; // lookup tables for tabulation hashing
-        private long[] tableKeys;   // the table of keys
-        private byte[] tableValues; // the table of values corresponding to the keys
-        private int size;           // current number of data records stored in this map
-        private int maxSize;        // maximum number of data records that can be stored before table size must be increased
-        private int mask;           // bit mask based on current table size
+        private final Segment[] segments;
+        private final int segmentShift; // the segment index is the highest bits of the remixed hash value; shifting a long by 32 gives zero, unlike an int
+        private static final int SEGMENT_HASH_MIX = 0x9e3779b9; // odd multiplier (golden ratio), see getSegment()
+        private final boolean robinHood;
+        private final boolean fingerprints, verified;
+        private long numKeyCompares;   // number of keys compared in the StateStorage
+        private long numHashCollisions; // number of stored keys with the same hash value as the new key, but not equal
+        private int numResizesRestored; // number of resizes before the map has been read from a checkpoint
+        private BoardSymmetry symmetry; // the keys are compared in their canonical forms, or null
+        private long[] canonicalKey, storedKey, storedCanonicalKey; // work arrays for the symmetry
+        private boolean isSameKey;  // the last isEqualKey() has found the new key itself, not another image of it
+        private byte[] lastEstimates; // the table of estimates of the segment of the last successful putIfLess()
+        private int lastIndex;      // table index of the key of the last successful putIfLess()
         private final StateStorage storage;
-        private final long[][] storageMemoryBlocks;
+
+        /**
+         * a part of the hash table. during a resize it also holds the old table of the keys that haven't been moved yet.
+         */
+        private static final class Segment {
+            private long[] tableKeys;   // the table of keys
+            private byte[] tableValues; // the table of values corresponding to the keys
+            private byte[] tableEstimates; // the table of cached heuristic values (estimate + 1) of the keys, 0 = not known yet; or null
+            private long[] tableFingerprints; // the table of fingerprints of the keys, or null
+            private int size;           // current number of data records stored in this segment, including the old table
+            private int maxSize;        // maximum number of data records that can be stored before table size must be increased
+            private int mask;           // bit mask based on current table size
+            private long[] oldTableKeys;   // the tables before the resize, or null
+            private byte[] oldTableValues;
+            private byte[] oldTableEstimates;
+            private long[] oldTableFingerprints;
+            private int oldMask;
+            private int rehashIndex;    // the slots of the old tables below this index have been moved to the new tables
+            private int numResizes;     // number of times the table size has been increased
+            private final boolean robinHood;
+
+            private Segment(final int tableSize, final boolean robinHood, final boolean estimates, final boolean fingerprints) {
+                this.robinHood = robinHood;
+                this.tableKeys = new long[tableSize];
+                this.tableValues = new byte[tableSize];
+                this.tableEstimates = (estimates ? new byte[tableSize] : null);
+                this.tableFingerprints = (fingerprints ? new long[tableSize] : null);
+                this.maxSize = (int)(tableSize * LOAD_FACTOR);
+                this.mask = tableSize - 1;
+            }
+
+            /**
+             * make the tables of this empty segment large enough for this number of entries, without resizing them later.
+             */
+            private void ensureCapacity(final int capacity) {
+                int tableSize = this.tableValues.length;
+                while ((int)(tableSize * LOAD_FACTOR) < capacity) {
+                    tableSize <<= 1;
+                }
+                if (tableSize != this.tableValues.length) {
+                    this.tableKeys = new long[tableSize];
+                    this.tableValues = new byte[tableSize];
+                    this.tableEstimates = (null == this.tableEstimates ? null : new byte[tableSize]);
+                    this.tableFingerprints = (null == this.tableFingerprints ? null : new long[tableSize]);
+                    this.maxSize = (int)(tableSize * LOAD_FACTOR);
+                    this.mask = tableSize - 1;
+                }
+            }
+
+            /**
+             * allocate new tables, twice as large as the current ones, and start moving the entries.
+             */
+            private void increaseSize() {
+                if (null != this.oldTableValues) {
+                    this.rehash(Integer.MAX_VALUE); // the previous resize must be finished first
+                }
+                ++this.numResizes;
+                final SolverEventListener listener = eventListener;
+                final long nanoStart = (null == listener ? 0 : System.nanoTime());
+                this.oldTableKeys = this.tableKeys;
+                this.oldTableValues = this.tableValues;
+                this.oldTableEstimates = this.tableEstimates;
+                this.oldTableFingerprints = this.tableFingerprints;
+                this.oldMask = this.mask;
+                this.rehashIndex = 0;
+                this.tableKeys = new long[this.oldTableKeys.length << 1];
+                this.tableValues = new byte[this.oldTableValues.length << 1];
+                this.tableEstimates = (null == this.oldTableEstimates ? null : new byte[this.oldTableEstimates.length << 1]);
+                this.tableFingerprints = (null == this.oldTableFingerprints ? null : new long[this.oldTableFingerprints.length << 1]);
+                this.maxSize = (int)(this.tableValues.length * LOAD_FACTOR);
+                this.mask = this.tableValues.length - 1;
+                if (null != listener) {
+                    listener.hashTableResized(this.oldTableValues.length, this.tableValues.length, System.nanoTime() - nanoStart);
+                }
+            }
+
+            /**
+             * move the entries of the next slots of the old tables to the new tables.
+             * the old tables are not changed, so their probing sequences stay intact
+             * for the keys that haven't been moved yet.
+             */
+            private void rehash(final int numSlots) {
+                final long[] oldKeys = this.oldTableKeys;
+                final byte[] oldValues = this.oldTableValues;
+                final byte[] oldEstimates = this.oldTableEstimates;
+                final long[] oldFingerprints = this.oldTableFingerprints;
+                int oldIndex = this.rehashIndex;
+                final int oldIndexEnd = (int)Math.min(oldValues.length, (long)oldIndex + numSlots);
+                for (;  oldIndex < oldIndexEnd;  ++oldIndex) {
+                    final byte value = oldValues[oldIndex];
+                    if (value != 0) {
+                        final long kh = oldKeys[oldIndex];
+                        this.insert((int)kh & this.mask, kh, value, (null == oldEstimates ? 0 : oldEstimates[oldIndex]),
+                                (null == oldFingerprints ? 0 : oldFingerprints[oldIndex]));
+                    }
+                }
+                this.rehashIndex = oldIndex;
+                if (oldIndex == oldValues.length) {
+                    // finished, release the old tables
+                    this.oldTableKeys = null;
+                    this.oldTableValues = null;
+                    this.oldTableEstimates = null;
+                    this.oldTableFingerprints = null;
+                }
+            }
+
+            /**
+             * store an entry of a key that is not in the new tables, at this index or behind it.
+             * with linear probing, the entry goes to the first empty slot.
+             * with Robin Hood hashing, it takes the slot of the first entry that is closer to its home slot,
+             * and this entry is moved on in the same way, until an empty slot is reached.
+             * either way, the new entry is stored at this index, if the index is the result of the lookup of the key.
+             */
+            private void insert(int index, long kh, byte value, byte estimate, long fingerprint) {
+                final long[] keys = this.tableKeys;
+                final byte[] values = this.tableValues;
+                final byte[] estimates = this.tableEstimates;
+                final long[] fingerprints = this.tableFingerprints;
+                final int mask = this.mask;
+                while (values[index] != 0) {
+                    // there can't be any duplicate keys, so just skip all occupied slots
+                    if (this.robinHood) {
+                        final long residentKh = keys[index];
+                        if (((index - (int)residentKh) & mask) < ((index - (int)kh) & mask)) {
+                            // the resident is closer to its home slot, so it makes room
+                            final byte residentValue = values[index];
+                            keys[index] = kh;
+                            values[index] = value;
+                            kh = residentKh;
+                            value = residentValue;
+                            if (null != estimates) {
+                                final byte residentEstimate = estimates[index];
+                                estimates[index] = estimate;
+                                estimate = residentEstimate;
+                            }
+                            if (null != fingerprints) {
+                                final long residentFingerprint = fingerprints[index];
+                                fingerprints[index] = fingerprint;
+                                fingerprint = residentFingerprint;
+                            }
+                        }
+                    }
+                    index = ++index & mask;
+                }
+                keys[index] = kh;
+                values[index] = value;
+                if (null != estimates) {
+                    estimates[index] = estimate;
+                }
+                if (null != fingerprints) {
+                    fingerprints[index] = fingerprint;
+                }
+            }
+
+            /**
+             * add an entry of a key that is not stored in this segment.
+             */
+            private void add(final long kh, final byte value, final byte estimate, final long fingerprint) {
+                if (this.size >= this.maxSize) {
+                    this.increaseSize();
+                    this.rehash(Integer.MAX_VALUE);
+                }
+                this.insert((int)kh & this.mask, kh, value, estimate, fingerprint);
+                ++this.size;
+            }
+
+            private long getSizeBytes() {
+                final int bytesPerSlot = Long.BYTES + 1 + (null == this.tableEstimates ? 0 : 1) + (null == this.tableFingerprints ? 0 : Long.BYTES);
+                long result = (long)this.tableValues.length * bytesPerSlot;
+                if (null != this.oldTableValues) {
+                    result += (long)this.oldTableValues.length * bytesPerSlot;
+                }
+                return result;
+            }
+        }
+
+        /**
+         * constructor, with the options set by setHashTableSegments(), setRobinHoodHashing() and setHashFingerprints().
+         * @param estimates true to cache the heuristic values of the keys, see getEstimate()
+         */
+        public HashMapLongArray2Byte(final Board board, final StateStorage storage, final boolean estimates) {
+            this(board, storage, hashTableSegments, robinHoodHashing, estimates, hashFingerprints, hashFingerprintsVerified);
+        }
 
         /**
          * constructor
+         * @param numSegments must be a power of two
+         * @param robinHood true for Robin Hood hashing, false for plain linear probing
+         * @param estimates true to cache the heuristic values of the keys, see getEstimate()
+         * @param fingerprints true to store the fingerprints of the keys
+         * @param verified true to compare the keys after the fingerprints have been found equal
          */
-        public HashMapLongArray2Byte(final Board board, final StateStorage storage) {
+        public HashMapLongArray2Byte(final Board board, final StateStorage storage, final int numSegments, final boolean robinHood,
+                final boolean estimates, final boolean fingerprints, final boolean verified) {
             this.KEY_SIZE = board.getSizeColorAreas64();
-            final int initialTableSize = 1 << 16; // must be a power of two! CONFIGURE THIS
-            this.tableKeys = new long[initialTableSize];
-            this.tableValues = new byte[initialTableSize];
-            this.size = 0;
-            this.maxSize = (int)(this.tableValues.length * this.LOAD_FACTOR);
-            this.mask = this.tableValues.length - 1;
+            this.robinHood = robinHood;
+            this.fingerprints = fingerprints;
+            this.verified = verified;
+            this.segments = new Segment[numSegments];
+            final int segmentTableSize = Math.max(INITIAL_TABLE_SIZE / numSegments, 1 << 8);
+            for (int i = 0;  i < numSegments;  ++i) {
+                this.segments[i] = new Segment(segmentTableSize, robinHood, estimates, fingerprints);
+            }
+            this.segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(numSegments); // unsigned hash >>> segmentShift
+            this.lastEstimates = this.segments[0].tableEstimates;
             this.storage = storage;
-            this.storageMemoryBlocks = storage.memoryBlocks;
 //            this.hashLookup = new int[Long.BYTES * this.KEY_SIZE][1 << Byte.SIZE]; // tabulation hashing - split key into bytes
 //            final long seed = Double.doubleToLongBits(Math.PI); // arbitrary, constant seed for random number generator
 //            final java.util.Random random = new java.util.Random(seed); // constant seed = same pseudo-random values in each run
@@ -342,6 +1086,54 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
 //            }
         }
 
+        /**
+         * @return the segment of this hash value
+         */
+        private Segment getSegment(final int hash) {
+            return this.segments[this.getSegmentIndex(hash)];
+        }
+
+        /**
+         * the segment index is taken from the hash value multiplied by SEGMENT_HASH_MIX, so it depends on all of its bits.
+         * the highest bits of the plain hash value choose the worker of AStarParallelSolver, so each worker
+         * would fill only some of the segments of its own map, and the other ones would stay empty.
+         * @return segment number of this hash value
+         */
+        private int getSegmentIndex(final int hash) {
+            return (int)((0x00000000ffffffffL & (hash * SEGMENT_HASH_MIX)) >>> this.segmentShift);
+        }
+
+        /**
+         * get the segment number of this key. the keys of different segments are stored in separate tables.
+         * @param key must be a ColorAreaSet
+         * @return segment number, from zero to the number of segments - 1
+         */
+        public int getSegmentIndex(final long[] key) {
+            return this.getSegmentIndex(this.hash(key, 0));
+        }
+
+        /**
+         * @return number of segments
+         */
+        public int getNumSegments() {
+            return this.segments.length;
+        }
+
+        /**
+         * compare the keys in their canonical forms, so that all images of a state (see BoardSymmetry) are one key.
+         * the stored key is the image that has been put first, or the last one that has decreased the value,
+         * because the entry that putIfLess() returns must be the new key itself: its moves are the ones of the solution.
+         * @param symmetry the symmetries of the board, or null to compare the keys as they are (default)
+         */
+        void setSymmetry(final BoardSymmetry symmetry) {
+            this.symmetry = symmetry;
+            if (null != symmetry) {
+                this.canonicalKey = new long[this.KEY_SIZE];
+                this.storedKey = new long[this.KEY_SIZE];
+                this.storedCanonicalKey = new long[this.KEY_SIZE];
+            }
+        }
+
         /**
          * try to put this key-value pair into the map. this will succeed if the key was not present
          * in the map before or if the new value is less than the previously stored value for the key.
@@ -350,42 +1142,91 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
          * @return non-zero if the key-value pair was stored, zero if it was stored before with the same or a lower value.
          */
         public int putIfLess(final long[] newKey, final int newValue) {
-            final int newHash = this.hash(newKey, 0);
-            int index = newHash & this.mask;
+            final long[] canonicalKey;
+            if (null == this.symmetry) {
+                canonicalKey = newKey;
+            } else {
+                canonicalKey = this.canonicalKey;
+                this.symmetry.canonicalize(newKey, canonicalKey);
+            }
+            final int newHash = this.hash(canonicalKey, 0);
+            final long newFingerprint = (this.fingerprints ? fingerprint(canonicalKey, this.KEY_SIZE) : 0);
+            final Segment segment = this.getSegment(newHash);
+            if (segment.size >= segment.maxSize) {
+                segment.increaseSize(); // before the index is determined, so it's still valid for getEstimate() and setEstimate()
+            }
+            if (null != segment.oldTableValues) {
+                segment.rehash(REHASH_SLOTS);
+            }
+            final long[] tableKeys = segment.tableKeys;
+            final byte[] tableValues = segment.tableValues;
+            final int mask = segment.mask;
+            final boolean robinHood = this.robinHood;
+            int index = newHash & mask;
             int oldValue, oldKey = 0;
-            while ((oldValue = this.tableValues[index]) != 0) {
+            for (int distance = 0;  (oldValue = tableValues[index]) != 0;  ++distance) {
                 // found an existing entry, now check if it's our key
-                final long kh = this.tableKeys[index];
+                final long kh = tableKeys[index];
                 final int oldHash = (int)kh;
                 if (newHash == oldHash) {
                     oldKey = (int)(kh >>> Integer.SIZE);
-                    final long[] oldKeyArray = this.storageMemoryBlocks[oldKey >>> StateStorage.MEMORY_BLOCK_SHIFT];
-                    final int oldKeyIndex = oldKey & StateStorage.MEMORY_BLOCK_MASK;
-                    boolean matchesKey = true;
-                    for (int i = 0;  (i < this.KEY_SIZE) && matchesKey;  ++i) {
-                        matchesKey = (newKey[i] == oldKeyArray[oldKeyIndex + i]);
+                    if (this.isEqualKey(oldKey, newKey, canonicalKey, segment.tableFingerprints, index, newFingerprint)) {
+                        break; // for
+                    }
+                } else if (robinHood && (((index - oldHash) & mask) < distance)) {
+                    oldValue = 0; // Robin Hood: our key would have taken the slot of this entry
+                    break; // for
+                }
+                index = ++index & mask;
+            }
+            if ((0 == oldValue) && (null != segment.oldTableValues)) {
+                // not found in the new table, so look for a key that hasn't been moved yet
+                final long[] oldTableKeys = segment.oldTableKeys;
+                final byte[] oldTableValues = segment.oldTableValues;
+                final int oldMask = segment.oldMask;
+                int oldIndex = newHash & oldMask;
+                for (int distance = 0;  (oldValue = oldTableValues[oldIndex]) != 0;  ++distance) {
+                    final long kh = oldTableKeys[oldIndex];
+                    if (newHash == (int)kh) {
+                        oldKey = (int)(kh >>> Integer.SIZE);
+                        if (this.isEqualKey(oldKey, newKey, canonicalKey, segment.oldTableFingerprints, oldIndex, newFingerprint)) {
+                            break; // for
+                        }
+                    } else if (robinHood && (((oldIndex - (int)kh) & oldMask) < distance)) {
+                        oldValue = 0;
+                        break; // for
                     }
-                    if (matchesKey) {
-                        break; // while
+                    oldIndex = ++oldIndex & oldMask;
+                }
+                if (0 != oldValue) {
+                    // the key is in a slot that hasn't been moved yet, because a key that has been moved
+                    // would have been found in the new table; so update it in the old table
+                    if (newValue < (oldValue & 0xff)) {
+                        oldTableValues[oldIndex] = (byte)newValue;
+                        this.lastEstimates = segment.oldTableEstimates;
+                        this.lastIndex = oldIndex;
+                        return this.updateKey(oldTableKeys, oldIndex, oldKey, newKey);
+                    } else {
+                        return 0;
                     }
                 }
-                index = ++index & this.mask;
             }
             if (0 == oldValue) {
                 // key not present yet
                 // -> add new entry
                 final int newKeyEntry = this.storage.put(newKey);
-                this.tableKeys[index] = ((long)newKeyEntry << Integer.SIZE) | (0x00000000ffffffffL & newHash);
-                this.tableValues[index] = (byte)newValue;
-                if (++this.size > this.maxSize) {
-                    this.increaseSize();
-                }
+                segment.insert(index, ((long)newKeyEntry << Integer.SIZE) | (0x00000000ffffffffL & newHash), (byte)newValue, (byte)0, newFingerprint);
+                ++segment.size;
+                this.lastEstimates = segment.tableEstimates;
+                this.lastIndex = index;
                 return newKeyEntry;
             } else if (newValue < (oldValue & 0xff)) {
                 // entry present and new value is less than old value
                 // -> update entry
-                this.tableValues[index] = (byte)newValue;
-                return oldKey;
+                tableValues[index] = (byte)newValue;
+                this.lastEstimates = segment.tableEstimates;
+                this.lastIndex = index;
+                return this.updateKey(tableKeys, index, oldKey, newKey);
             } else {
                 // entry present and new value is same or greater than old value
                 // -> do nothing
@@ -393,6 +1234,184 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
             }
         }
 
+        /**
+         * check if the stored key, which has the same hash value, is equal to the new key.
+         * with fingerprints, the keys are compared only if their fingerprints are equal,
+         * or they are considered equal without comparison if they are not verified.
+         * with symmetries, a stored key that is not the new key itself is compared in its canonical form.
+         */
+        private boolean isEqualKey(final int key, final long[] newKey, final long[] canonicalKey,
+                final long[] tableFingerprints, final int index, final long newFingerprint) {
+            if (null != tableFingerprints) {
+                if (tableFingerprints[index] != newFingerprint) {
+                    ++this.numHashCollisions;
+                    return false;
+                }
+                if (false == this.verified) {
+                    this.isSameKey = (null == this.symmetry); // not known, so another image is assumed
+                    return true;
+                }
+            }
+            ++this.numKeyCompares;
+            if (this.storage.equals(key, newKey)) {
+                this.isSameKey = true;
+                return true;
+            }
+            if (null != this.symmetry) {
+                this.storage.get(key, this.storedKey);
+                this.symmetry.canonicalize(this.storedKey, this.storedCanonicalKey);
+                if (Arrays.equals(this.storedCanonicalKey, canonicalKey)) {
+                    this.isSameKey = false;
+                    return true;
+                }
+            }
+            ++this.numHashCollisions;
+            return false;
+        }
+
+        /**
+         * after the value of the stored key has been decreased: if the new key is another image of it,
+         * then store the new key and let the slot refer to it, because the caller continues from the new key.
+         * @return storage entry of the new key
+         */
+        private int updateKey(final long[] tableKeys, final int index, final int oldKey, final long[] newKey) {
+            if (this.isSameKey) {
+                return oldKey;
+            }
+            final int newKeyEntry = this.storage.put(newKey);
+            tableKeys[index] = ((long)newKeyEntry << Integer.SIZE) | (0x00000000ffffffffL & tableKeys[index]);
+            return newKeyEntry;
+        }
+
+        /**
+         * @return number of keys that have been compared in the StateStorage, by all calls of putIfLess()
+         */
+        public long getNumKeyCompares() {
+            return this.numKeyCompares;
+        }
+
+        /**
+         * @return number of stored keys that had the same 32bit hash value as the new key, but were not equal to it
+         */
+        public long getNumHashCollisions() {
+            return this.numHashCollisions;
+        }
+
+        /**
+         * get the heuristic value that has been cached for the key of the last successful putIfLess().
+         * the heuristic depends on the state only, not on the path that lead to it,
+         * so it can be reused when a state is reached again by a shorter path.
+         * @return the cached value, or -1 if it's not known yet or if the values are not cached
+         */
+        public int getEstimate() {
+            if (null == this.lastEstimates) {
+                return -1;
+            }
+            return (this.lastEstimates[this.lastIndex] & 0xff) - 1;
+        }
+
+        /**
+         * cache the heuristic value for the key of the last successful putIfLess(), if the values are cached.
+         * @param estimate must be zero or greater; values greater than 254 are not cached
+         */
+        public void setEstimate(final int estimate) {
+            if ((estimate < 0xff) && (null != this.lastEstimates)) {
+                this.lastEstimates[this.lastIndex] = (byte)(estimate + 1);
+            }
+        }
+
+        /**
+         * @return number of keys stored in this map
+         */
+        public int size() {
+            int result = 0;
+            for (final Segment segment : this.segments) {
+                result += segment.size;
+            }
+            return result;
+        }
+
+        /**
+         * @return number of times the table size of a segment has been increased
+         */
+        public int getNumResizes() {
+            int result = this.numResizesRestored;
+            for (final Segment segment : this.segments) {
+                result += segment.numResizes;
+            }
+            return result;
+        }
+
+        /**
+         * @return number of bytes allocated by the internal tables (without the keys in StateStorage)
+         */
+        public long getSizeBytes() {
+            long result = 0;
+            for (final Segment segment : this.segments) {
+                result += segment.getSizeBytes();
+            }
+            return result;
+        }
+
+        /**
+         * write the entries, for AStarCheckpoint.
+         * the keys are entries of StateStorage, so it must be written together with this map.
+         */
+        void write(final DataOutput out) throws IOException {
+            out.writeInt(this.size());
+            out.writeInt(this.getNumResizes());
+            for (final Segment segment : this.segments) {
+                for (int index = 0;  index < segment.tableValues.length;  ++index) {
+                    if (0 != segment.tableValues[index]) {
+                        out.writeLong(segment.tableKeys[index]);
+                        out.writeByte(segment.tableValues[index]);
+                        out.writeByte(null == segment.tableEstimates ? 0 : segment.tableEstimates[index]);
+                    }
+                }
+                if (null != segment.oldTableValues) {
+                    for (int index = segment.rehashIndex;  index < segment.oldTableValues.length;  ++index) {
+                        if (0 != segment.oldTableValues[index]) {
+                            out.writeLong(segment.oldTableKeys[index]);
+                            out.writeByte(segment.oldTableValues[index]);
+                            out.writeByte(null == segment.oldTableEstimates ? 0 : segment.oldTableEstimates[index]);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * read the entries written by write(), into this empty map.
+         * the number of segments may be different from the map that has been written.
+         */
+        void read(final DataInput in) throws IOException {
+            final int size = in.readInt();
+            this.numResizesRestored = in.readInt();
+            // the entries are written in the order of the tables, so they must not be inserted into smaller tables:
+            // they would form long clusters there, which makes the linear probing extremely slow.
+            // the segments get the final size first, with some room for the random differences of their sizes.
+            final int segmentSize = size / this.segments.length;
+            for (final Segment segment : this.segments) {
+                segment.ensureCapacity(segmentSize + 4 * (int)Math.sqrt(segmentSize) + 256);
+            }
+            final long[] key = new long[this.KEY_SIZE];
+            for (int i = 0;  i < size;  ++i) {
+                final long kh = in.readLong();
+                final byte value = in.readByte();
+                final byte estimate = in.readByte();
+                long fingerprint = 0;
+                if (this.fingerprints) {
+                    this.storage.get((int)(kh >>> Integer.SIZE), key); // the fingerprints are not written, because they depend on the keys only
+                    if (null != this.symmetry) {
+                        this.symmetry.canonicalize(key, this.canonicalKey);
+                        System.arraycopy(this.canonicalKey, 0, key, 0, this.KEY_SIZE);
+                    }
+                    fingerprint = fingerprint(key, this.KEY_SIZE);
+                }
+                this.getSegment((int)kh).add(kh, value, estimate, fingerprint);
+            }
+        }
+
         /**
          * calculate the 32bit hash value of the array of long.
          */
@@ -415,10 +1434,13 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
 //            }
 //            return result;
 //        }
-        private int hash(final long[] key, final int startIndex) {
+        int hash(final long[] key, final int startIndex) {
+            return hash(key, startIndex, this.KEY_SIZE);
+        }
+        static int hash(final long[] key, final int startIndex, final int keySize) {
             // based on MurmurHash3_x86_32
             int h1 = 12345; // seed
-            for (int k = startIndex, km = startIndex + this.KEY_SIZE;  k < km;  ++k) {
+            for (int k = startIndex, km = startIndex + keySize;  k < km;  ++k) {
                 final long l = key[k];
                 int k1 = (int)l;
                 k1 *= 0xcc9e2d51;
@@ -442,6 +1464,26 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
             h1 ^= h1 >>> 16;
             return h1;
         }
+        /**
+         * calculate the 64bit fingerprint of the array of long, independent of hash().
+         */
+        static long fingerprint(final long[] key, final int keySize) {
+            // based on MurmurHash64A
+            final long m = 0xc6a4a7935bd1e995L;
+            long h = 0x5eed5eed5eed5eedL ^ (keySize * Long.BYTES * m); // seed
+            for (int k = 0;  k < keySize;  ++k) {
+                long k1 = key[k];
+                k1 *= m;
+                k1 ^= k1 >>> 47;
+                k1 *= m;
+                h ^= k1;
+                h *= m;
+            }
+            h ^= h >>> 47;
+            h *= m;
+            h ^= h >>> 47;
+            return h;
+        }
 //        // based on XXHash32
 //        // https://github.com/lz4/lz4-java
 //        // https://github.com/richardstartin/xxhash-benchmark
@@ -494,78 +1536,135 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
 //            h32 ^= h32 >>> 16;
 //            return h32;
 //        }
-
-        /**
-         * double the storage space in the internal tables
-         */
-        private void increaseSize() {
-            // allocate new tables, twice as large as the current ones
-            final long[] oldTableKeys = this.tableKeys;
-            this.tableKeys = new long[oldTableKeys.length << 1];
-            final byte[] oldTableValues = this.tableValues;
-            this.tableValues = new byte[oldTableValues.length << 1];
-            this.maxSize = (int)(this.tableValues.length * this.LOAD_FACTOR);
-            this.mask = this.tableValues.length - 1;
-            // add all entries to the new tables
-            int oldIndex = 0;
-            for (final byte value : oldTableValues) {
-                if (value != 0) {
-                    final long kh = oldTableKeys[oldIndex];
-                    final int hash = (int)kh;
-                    int newIndex = hash & this.mask;
-                    while (this.tableValues[newIndex] != 0) {
-                        // there can't be any duplicate keys, so just skip all occupied slots
-                        newIndex = ++newIndex & this.mask;
-                    }
-                    this.tableKeys[newIndex] = kh;
-                    this.tableValues[newIndex] = value;
-                }
-                ++oldIndex;
-            }
-        }
     }
 
     /**
      * This class implements a compact storage area of the contents of many
      * ColorAreaSet objects (which are actually just long[] = arrays of long).
      * Individual entries of this storage are accessed via integer keys.
+     * The memory blocks are provided by the subclasses: on the Java heap or in memory-mapped files.
      */
-    protected static class StateStorage {
+    protected static abstract class StateStorage {
         public static final int MEMORY_BLOCK_SHIFT = 20; // 20 == 8 MiB
         public static final int MEMORY_BLOCK_SIZE = 1 << MEMORY_BLOCK_SHIFT; // must be a power of two
         public static final int MEMORY_BLOCK_MASK = MEMORY_BLOCK_SIZE - 1;
-        public final long[][] memoryBlocks = new long[1 << (Integer.SIZE - MEMORY_BLOCK_SHIFT)][];
+        public static final int MAX_MEMORY_BLOCKS = 1 << (Integer.SIZE - MEMORY_BLOCK_SHIFT);
         private int numMemoryBlocks = 1, entry = 0, offset = 0;
-        private final int stateSize, endOffset;
+        private int firstBlockSize; // memory block 0 may start smaller, see growFirstMemoryBlock()
+        protected final int stateSize;
+        private final int endOffset;
 
-        /** the constructor */
-        public StateStorage(final Board board) {
-            memoryBlocks[0] = new long[MEMORY_BLOCK_SIZE];
+        /**
+         * the constructor; the subclass must allocate memory block 0.
+         * @param firstBlockSize initial size of memory block 0 (number of "long"), a power of two, at most MEMORY_BLOCK_SIZE
+         */
+        protected StateStorage(final Board board, final int firstBlockSize) {
             stateSize = board.getSizeColorAreas64(); // equal to the length of ColorAreaSet objects (arrays of "long")
             endOffset = MEMORY_BLOCK_SIZE - stateSize;
+            this.firstBlockSize = Math.min(MEMORY_BLOCK_SIZE, Math.max(Integer.highestOneBit(firstBlockSize), Integer.highestOneBit(stateSize) << 2));
         }
 
-        public long get(int keySrc, int item) {
-            return memoryBlocks[keySrc >>> MEMORY_BLOCK_SHIFT][(keySrc + item) & MEMORY_BLOCK_MASK];
-        }
+        /** get one "long" item of the storage entry. */
+        public abstract long get(int keySrc, int item);
+
+        /** set one "long" item of the existing storage entry. */
+        public abstract void set(int keyDest, int item, long value);
 
         /** copy the contents of the storage entry to the ColorAreaSet. */
-        public void get(int keySrc, long[] casDest) {
-            System.arraycopy(memoryBlocks[keySrc >>> MEMORY_BLOCK_SHIFT], keySrc & MEMORY_BLOCK_MASK, casDest, 0, stateSize);
+        public abstract void get(int keySrc, long[] casDest);
+
+        /** copy the contents of the ColorAreaSet to the existing storage entry. */
+        public abstract void set(int keyDest, long[] casSrc);
+
+        /** check if the contents of the storage entry are equal to the ColorAreaSet. */
+        public abstract boolean equals(int key, long[] cas);
+
+        /** allocate the memory block with this index, using getMemoryBlockSize(index). */
+        protected abstract void allocateMemoryBlock(int index);
+
+        /** enlarge memory block 0 to this size, keeping its contents. */
+        protected abstract void resizeFirstMemoryBlock(int size);
+
+        /** get the current size of the memory block with this index (number of "long"). */
+        protected int getMemoryBlockSize(final int index) {
+            return (0 == index ? firstBlockSize : MEMORY_BLOCK_SIZE);
+        }
+
+        /** double the size of memory block 0. */
+        private void growFirstMemoryBlock() {
+            final SolverEventListener listener = eventListener;
+            final long nanoStart = (null == listener ? 0 : System.nanoTime());
+            final int size = firstBlockSize << 1;
+            this.resizeFirstMemoryBlock(size);
+            firstBlockSize = size;
+            if (null != listener) {
+                listener.memoryBlockAllocated("StateStorage", (long)size * Long.BYTES, this.getSizeBytes(), System.nanoTime() - nanoStart);
+            }
+        }
+
+        /** release the resources that are not freed by the garbage collector. */
+        public void close() {
+            // nothing
         }
 
         /** copy the contents of the ColorAreaSet to a new storage entry. */
         public int put(long[] casSrc) {
             final int keyDest = this.add();
-            System.arraycopy(casSrc, 0, memoryBlocks[keyDest >>> MEMORY_BLOCK_SHIFT], keyDest & MEMORY_BLOCK_MASK, stateSize);
+            this.set(keyDest, casSrc);
             return keyDest;
         }
 
+        /** get the number of bytes used by the entries in this storage. */
+        public long getUsedBytes() {
+            return (0xffffffffL & entry) * Long.BYTES;
+        }
+
+        /** get the number of bytes allocated by this storage. */
+        public long getSizeBytes() {
+            return ((long)(numMemoryBlocks - 1) * MEMORY_BLOCK_SIZE + firstBlockSize) * Long.BYTES;
+        }
+
+        /** write the used part of the memory blocks, for AStarCheckpoint. */
+        void write(final DataOutput out) throws IOException {
+            out.writeInt(numMemoryBlocks);
+            out.writeInt(entry);
+            out.writeInt(offset);
+            for (int b = 0;  b < numMemoryBlocks;  ++b) {
+                final int key = b << MEMORY_BLOCK_SHIFT;
+                for (int i = 0, length = (b == numMemoryBlocks - 1 ? offset : MEMORY_BLOCK_SIZE);  i < length;  ++i) {
+                    out.writeLong(this.get(key, i));
+                }
+            }
+        }
+
+        /** read the data written by write(), into this empty storage. */
+        void read(final DataInput in) throws IOException {
+            final int numBlocks = in.readInt();
+            for (int b = numMemoryBlocks;  b < numBlocks;  ++b) {
+                this.allocateMemoryBlock(b);
+            }
+            numMemoryBlocks = numBlocks;
+            entry = in.readInt();
+            offset = in.readInt();
+            while ((firstBlockSize < MEMORY_BLOCK_SIZE) && ((numMemoryBlocks > 1) || (offset > firstBlockSize))) {
+                this.growFirstMemoryBlock();
+            }
+            for (int b = 0;  b < numMemoryBlocks;  ++b) {
+                final int key = b << MEMORY_BLOCK_SHIFT;
+                for (int i = 0, length = (b == numMemoryBlocks - 1 ? offset : MEMORY_BLOCK_SIZE);  i < length;  ++i) {
+                    this.set(key, i, in.readLong());
+                }
+            }
+        }
+
         /** add a new storage entry and return the key. */
         private int add() {
             final int result = entry;
             entry += stateSize;
             offset += stateSize;
+            if ((offset > firstBlockSize) && (1 == numMemoryBlocks)) {
+                this.growFirstMemoryBlock(); // it's smaller than MEMORY_BLOCK_SIZE, so the new entry is still in block 0
+            }
             if (offset > endOffset) { // must allocate another block of memory
                 if (offset == MEMORY_BLOCK_SIZE) {
                     offset = 0;
@@ -573,12 +1672,187 @@ next:   for (int nextColorNeighbor;  (nextColorNeighbor = nextColorNeighbors.nex
                     entry += stateSize;
                     offset -= endOffset;
                 }
-                if (numMemoryBlocks >= memoryBlocks.length) {
+                if (numMemoryBlocks >= MAX_MEMORY_BLOCKS) {
                     throw new IllegalStateException("Integer overflow! (32 GB of data storage exceeded)");
                 }
-                memoryBlocks[numMemoryBlocks++] = new long[MEMORY_BLOCK_SIZE];
+                final SolverEventListener listener = eventListener;
+                final long nanoStart = (null == listener ? 0 : System.nanoTime());
+                this.allocateMemoryBlock(numMemoryBlocks++);
+                if (null != listener) {
+                    listener.memoryBlockAllocated("StateStorage", (long)MEMORY_BLOCK_SIZE * Long.BYTES, this.getSizeBytes(), System.nanoTime() - nanoStart);
+                }
             }
             return result;
         }
     }
+
+    /**
+     * the StateStorage that uses arrays of long on the Java heap.
+     */
+    protected static class HeapStateStorage extends StateStorage {
+        private final long[][] memoryBlocks = new long[MAX_MEMORY_BLOCKS][];
+
+        /** the constructor */
+        public HeapStateStorage(final Board board) {
+            this(board, MEMORY_BLOCK_SIZE);
+        }
+
+        /**
+         * the constructor
+         * @param firstBlockSize initial size of memory block 0 (number of "long"), a power of two, at most MEMORY_BLOCK_SIZE
+         */
+        public HeapStateStorage(final Board board, final int firstBlockSize) {
+            super(board, firstBlockSize);
+            this.allocateMemoryBlock(0);
+        }
+
+        @Override
+        public long get(int keySrc, int item) {
+            return memoryBlocks[keySrc >>> MEMORY_BLOCK_SHIFT][(keySrc + item) & MEMORY_BLOCK_MASK];
+        }
+
+        @Override
+        public void set(int keyDest, int item, long value) {
+            memoryBlocks[keyDest >>> MEMORY_BLOCK_SHIFT][(keyDest + item) & MEMORY_BLOCK_MASK] = value;
+        }
+
+        @Override
+        public void get(int keySrc, long[] casDest) {
+            System.arraycopy(memoryBlocks[keySrc >>> MEMORY_BLOCK_SHIFT], keySrc & MEMORY_BLOCK_MASK, casDest, 0, stateSize);
+        }
+
+        @Override
+        public void set(int keyDest, long[] casSrc) {
+            System.arraycopy(casSrc, 0, memoryBlocks[keyDest >>> MEMORY_BLOCK_SHIFT], keyDest & MEMORY_BLOCK_MASK, stateSize);
+        }
+
+        @Override
+        public boolean equals(int key, long[] cas) {
+            final long[] block = memoryBlocks[key >>> MEMORY_BLOCK_SHIFT];
+            final int index = key & MEMORY_BLOCK_MASK;
+            for (int i = 0;  i < stateSize;  ++i) {
+                if (cas[i] != block[index + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected void allocateMemoryBlock(int index) {
+            memoryBlocks[index] = new long[this.getMemoryBlockSize(index)];
+        }
+
+        @Override
+        protected void resizeFirstMemoryBlock(int size) {
+            memoryBlocks[0] = Arrays.copyOf(memoryBlocks[0], size);
+        }
+    }
+
+    /**
+     * the StateStorage that uses a memory-mapped scratch file, outside of the Java heap.
+     * the operating system pages the data between RAM and disk, so the storage
+     * is limited by the free disk space instead of the maximum heap size (-Xmx).
+     * the file is sparse, it grows in steps of one memory block, and it is deleted when the storage is closed.
+     * a smaller memory block 0 maps only the beginning of its part of the file, and it's mapped again when it grows.
+     */
+    protected static class MappedStateStorage extends StateStorage {
+        private static final long MEMORY_BLOCK_BYTES = (long)MEMORY_BLOCK_SIZE * Long.BYTES;
+        private final LongBuffer[] memoryBlocks = new LongBuffer[MAX_MEMORY_BLOCKS];
+        private final FileChannel channel;
+
+        /** the constructor */
+        public MappedStateStorage(final Board board, final Path directory) {
+            this(board, MEMORY_BLOCK_SIZE, directory);
+        }
+
+        /**
+         * the constructor
+         * @param firstBlockSize initial size of memory block 0 (number of "long"), a power of two, at most MEMORY_BLOCK_SIZE
+         */
+        public MappedStateStorage(final Board board, final int firstBlockSize, final Path directory) {
+            super(board, firstBlockSize);
+            try {
+                final Path file = Files.createTempFile(directory, "colorfill_states_", ".tmp");
+                this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                throw new IllegalStateException("can't create the storage file in directory " + directory, e);
+            }
+            this.allocateMemoryBlock(0);
+        }
+
+        @Override
+        public long get(int keySrc, int item) {
+            return memoryBlocks[keySrc >>> MEMORY_BLOCK_SHIFT].get((keySrc + item) & MEMORY_BLOCK_MASK);
+        }
+
+        @Override
+        public void set(int keyDest, int item, long value) {
+            memoryBlocks[keyDest >>> MEMORY_BLOCK_SHIFT].put((keyDest + item) & MEMORY_BLOCK_MASK, value);
+        }
+
+        @Override
+        public void get(int keySrc, long[] casDest) {
+            final LongBuffer block = memoryBlocks[keySrc >>> MEMORY_BLOCK_SHIFT];
+            final int index = keySrc & MEMORY_BLOCK_MASK;
+            for (int i = 0;  i < stateSize;  ++i) {
+                casDest[i] = block.get(index + i);
+            }
+        }
+
+        @Override
+        public void set(int keyDest, long[] casSrc) {
+            final LongBuffer block = memoryBlocks[keyDest >>> MEMORY_BLOCK_SHIFT];
+            final int index = keyDest & MEMORY_BLOCK_MASK;
+            for (int i = 0;  i < stateSize;  ++i) {
+                block.put(index + i, casSrc[i]);
+            }
+        }
+
+        @Override
+        public boolean equals(int key, long[] cas) {
+            final LongBuffer block = memoryBlocks[key >>> MEMORY_BLOCK_SHIFT];
+            final int index = key & MEMORY_BLOCK_MASK;
+            for (int i = 0;  i < stateSize;  ++i) {
+                if (cas[i] != block.get(index + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected void allocateMemoryBlock(int index) {
+            try {
+                memoryBlocks[index] = channel.map(FileChannel.MapMode.READ_WRITE, index * MEMORY_BLOCK_BYTES, (long)this.getMemoryBlockSize(index) * Long.BYTES)
+                        .order(ByteOrder.nativeOrder()).asLongBuffer();
+            } catch (IOException e) {
+                throw new IllegalStateException("can't map memory block " + index + " of the storage file", e);
+            }
+        }
+
+        @Override
+        protected void resizeFirstMemoryBlock(int size) {
+            try {
+                // the contents are kept in the file; the old mapping is released by the garbage collector
+                memoryBlocks[0] = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long)size * Long.BYTES)
+                        .order(ByteOrder.nativeOrder()).asLongBuffer();
+            } catch (IOException e) {
+                throw new IllegalStateException("can't map memory block 0 of the storage file", e);
+            }
+        }
+
+        /**
+         * close and delete the scratch file. the mapped memory blocks are released
+         * by the garbage collector, so this storage must not be used anymore.
+         */
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
 }
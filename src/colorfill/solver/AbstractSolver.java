@@ -32,6 +32,91 @@ public abstract class AbstractSolver implements Solver {
     protected final Board board;
     protected final List<Solution> solutions = new ArrayList<Solution>();
     protected int solutionSize = Integer.MAX_VALUE;
+    protected final SolverMetrics metrics = new SolverMetrics();
+    private long nanoStart;
+    private long deadline;
+    private boolean hasDeadline, isTimeLimitExceeded;
+    boolean ignoreTimeLimit = false; // used by the fallback solver that runs after the time limit
+    private AbstractSolver deadlineOwner; // the solver whose deadline is used instead of an own one, or null
+
+    private static int numAStarThreads = 1;
+    private static int numDfsThreads = 1;
+    private static boolean isAStarIterativeDeepening = false;
+    static volatile SolverEventListener eventListener = null;
+    private static long timeLimitNanos = 0; // 0 = no limit
+    private static long globalDeadline = 0;
+    private static boolean hasGlobalDeadline = false;
+    private static boolean useBoardSymmetry = false;
+
+    /**
+     * set the number of threads used by the AStar (A*) solver.
+     * if more than one thread is specified then AStarParallelSolver will be used.
+     * @param numThreads number of threads
+     */
+    public static void setAStarThreads(final int numThreads) {
+        numAStarThreads = Math.max(1, numThreads);
+    }
+
+    /**
+     * set the number of threads used by the depth-first search with DfsExhaustiveStrategy.
+     * if more than one thread is specified then DfsParallelSolver will be used.
+     * @param numThreads number of threads
+     */
+    public static void setDfsThreads(final int numThreads) {
+        numDfsThreads = Math.max(1, numThreads);
+    }
+
+    /**
+     * use the iterative-deepening AStar (IDA*) solver instead of the AStar (A*) solver.
+     * it needs much less memory, because it doesn't store all the states it has visited.
+     * @param iterativeDeepening true to use IdaStarSolver for all AStarStrategy classes
+     */
+    public static void setAStarIterativeDeepening(final boolean iterativeDeepening) {
+        isAStarIterativeDeepening = iterativeDeepening;
+    }
+
+    /**
+     * set the listener that receives the events of all solvers, like the start and the end of each solver run.
+     * @param listener the listener, or null to disable the events (default)
+     */
+    public static void setEventListener(final SolverEventListener listener) {
+        eventListener = listener;
+    }
+
+    /**
+     * limit the time of each solver run. when it's exceeded, the solver stops and returns the best solution
+     * it has found so far, or a solution of DfsGreedyNextStrategy if it hasn't found one yet.
+     * @param millis time limit of each run in milliseconds, or 0 for no limit (default)
+     */
+    public static void setTimeLimit(final long millis) {
+        timeLimitNanos = Math.max(0, millis) * 1000000L;
+    }
+
+    /**
+     * set a deadline for all solver runs, like setTimeLimit() but at the same point in time for all of them.
+     * @param millis time from now in milliseconds, or 0 for no deadline (default)
+     */
+    public static void setDeadline(final long millis) {
+        hasGlobalDeadline = (millis > 0);
+        globalDeadline = System.nanoTime() + Math.max(0, millis) * 1000000L;
+    }
+
+    /**
+     * use the symmetries of the board (rotations and reflections, with the colors renamed) in the AStar (A*)
+     * solver and in DfsExhaustiveStrategy: the states that are images of each other are stored only once.
+     * this makes the search smaller on designed boards that have such symmetries; random boards don't have any.
+     * @param symmetry true to use the symmetries of the board, false to ignore them (default)
+     */
+    public static void setBoardSymmetry(final boolean symmetry) {
+        useBoardSymmetry = symmetry;
+    }
+
+    /**
+     * @return the symmetries of the board, or null if they are disabled or the board doesn't have any
+     */
+    static BoardSymmetry makeBoardSymmetry(final Board board, final int startPos) {
+        return (useBoardSymmetry ? BoardSymmetry.create(board, startPos) : null);
+    }
 
     /**
      * create a new solver.
@@ -41,10 +126,18 @@ public abstract class AbstractSolver implements Solver {
      */
     public static Solver createSolver(final Class<? extends Strategy> strategyClass, final Board board) {
         final AbstractSolver solver;
-        if (DfsStrategy.class.isAssignableFrom(strategyClass)) {
+        if (DfsExhaustiveStrategy.class.equals(strategyClass) && (numDfsThreads > 1)) {
+            solver = new DfsParallelSolver(board, numDfsThreads);
+        } else if (DfsStrategy.class.isAssignableFrom(strategyClass)) {
             solver = new DfsSolver(board);
         } else if (AStarStrategy.class.isAssignableFrom(strategyClass)) {
-            solver = new AStarSolver(board);
+            if (isAStarIterativeDeepening) {
+                solver = new IdaStarSolver(board);
+            } else if (numAStarThreads > 1) {
+                solver = new AStarParallelSolver(board, numAStarThreads);
+            } else {
+                solver = new AStarSolver(board);
+            }
         } else {
             throw new IllegalArgumentException("unsupported strategy class " + strategyClass.getName());
         }
@@ -86,16 +179,90 @@ public abstract class AbstractSolver implements Solver {
     public int execute(final int startPos, final Solution previousSolution) throws InterruptedException {
         this.solutions.clear();
         this.solutionSize = Integer.MAX_VALUE;
+        this.metrics.clear();
+        this.nanoStart = System.nanoTime();
+        this.isTimeLimitExceeded = false;
+        if (null != this.deadlineOwner) {
+            this.hasDeadline = (false == this.ignoreTimeLimit) && this.deadlineOwner.hasDeadline;
+            this.deadline = this.deadlineOwner.deadline;
+        } else {
+            this.hasDeadline = (false == this.ignoreTimeLimit) && ((0 != timeLimitNanos) || hasGlobalDeadline);
+            if (this.hasDeadline) {
+                this.deadline = (0 == timeLimitNanos ? globalDeadline : this.nanoStart + timeLimitNanos);
+                if (hasGlobalDeadline && (globalDeadline - this.deadline < 0)) {
+                    this.deadline = globalDeadline;
+                }
+            }
+        }
         if (null != previousSolution) {
             this.solutionSize = previousSolution.getNumSteps();
             this.solutions.add(new Solution(this.board, previousSolution.getSteps(), this.getSolverName()));
         }
 
-        this.executeInternal(startPos);
+        final SolverEventListener listener = eventListener;
+        if (null == listener) {
+            this.executeInternal(startPos);
+            this.addFastSolution(startPos);
+        } else {
+            listener.solveStarted(this, this.board);
+            boolean finished = false;
+            try {
+                this.executeInternal(startPos);
+                this.addFastSolution(startPos);
+                finished = true;
+            } finally {
+                listener.solveFinished(this, this.board, (finished ? this.solutionSize : -1), System.nanoTime() - this.nanoStart);
+            }
+        }
 
         return this.solutionSize;
     }
 
+    /**
+     * if the time limit has been exceeded before any solution has been found,
+     * then add a solution of the fast DfsGreedyNextStrategy, which is not time-limited.
+     */
+    private void addFastSolution(final int startPos) throws InterruptedException {
+        if (this.isTimeLimitExceeded && this.solutions.isEmpty()) {
+            final DfsSolver fastSolver = new DfsSolver(this.board);
+            fastSolver.setStrategy(DfsGreedyNextStrategy.class);
+            fastSolver.ignoreTimeLimit = true;
+            fastSolver.execute(startPos, null);
+            this.addSolution(fastSolver.getSolution().getSteps());
+        }
+    }
+
+    /**
+     * let the runs of this solver stop at the deadline of the current run of that solver,
+     * instead of starting a time limit of their own. it's used by a solver that continues
+     * the run of another one, which has given up, so that both together keep the time limit.
+     * @param owner the solver whose deadline is used, or null for an own deadline (default)
+     */
+    void setDeadlineOf(final AbstractSolver owner) {
+        this.deadlineOwner = owner;
+    }
+
+    /**
+     * check if the time limit of this run has been reached.
+     * this calls System.nanoTime(), so it should be called from time to time in the search loop, not for every node.
+     * when it returns true, the solver should stop as soon as possible, keeping the best solution found so far.
+     * @return true if the time limit has been exceeded
+     */
+    protected final boolean isTimeUp() {
+        if (this.hasDeadline && (System.nanoTime() - this.deadline >= 0)) {
+            this.isTimeLimitExceeded = true;
+        }
+        return this.isTimeLimitExceeded;
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#isTimeLimitExceeded()
+     */
+    @Override
+    public boolean isTimeLimitExceeded() {
+        return this.isTimeLimitExceeded;
+    }
+
     /* (non-Javadoc)
      * @see colorfill.solver.Solver#getSolution()
      */
@@ -108,12 +275,21 @@ public abstract class AbstractSolver implements Solver {
         }
     }
 
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#getMetrics()
+     */
+    @Override
+    public SolverMetrics getMetrics() {
+        return this.metrics;
+    }
+
     /**
      * add a copy of this solution to the list of solutions if it's shorter than
      * or same length as the current best solution(s).
      * in the list of solutions only the best (shortest) solutions
      * will be stored, longer solutions will be removed when a shorter solution
      * is added.
+     * a shorter solution is reported to the SolverEventListener.
      * 
      * @param solution to be added
      * @return true if this solution was added
@@ -122,6 +298,12 @@ public abstract class AbstractSolver implements Solver {
         if (this.solutionSize > solution.length) {
             this.solutionSize = solution.length;
             this.solutions.clear();
+            this.solutions.add(new Solution(this.board, solution, this.getSolverName()));
+            final SolverEventListener listener = eventListener;
+            if (null != listener) {
+                listener.solutionImproved(this, this.board, this.solutions.get(0), System.nanoTime() - this.nanoStart);
+            }
+            return true;
         }
         if (this.solutionSize == solution.length) {
             this.solutions.add(new Solution(this.board, solution, this.getSolverName()));
@@ -0,0 +1,146 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+package colorfill.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import colorfill.model.Board;
+import colorfill.model.ColorArea;
+import colorfill.model.ColorAreaSet;
+
+/**
+ * the symmetries of a board: the rotations and reflections that map the board onto itself,
+ * with the colors renamed consistently, and that keep the start position in place.
+ * <p>
+ * each symmetry maps the color areas onto color areas, and a state (the set of flooded color areas)
+ * onto another state that needs the same number of moves to finish the game, with the colors renamed.
+ * so a solver can use the canonical form of a state, which is the same for all its images,
+ * as the key of its set of known states, and skip the images that have been visited already.
+ * the solver expands the state itself, not its canonical form, so the moves of its solution stay valid.
+ * <p>
+ * a symmetry that keeps all colors unchanged is not used: starting at a position that it keeps in place,
+ * each state that can be reached is its own image. only the symmetries that rename colors
+ * (like a board rotated by 180 degrees with colors 1 and 2 swapped) join different states.
+ * <p>
+ * random boards don't have any of these symmetries, so this is useful for designed boards only,
+ * like those with a mirrored pattern around a central start position.
+ */
+final class BoardSymmetry {
+
+    private final int[][] areaMaps; // for each symmetry that renames colors: color area id -> id of its image
+    private final ColorAreaSet.Iterator iter = new ColorAreaSet.Iterator();
+    private final long[] casImage;
+
+    private BoardSymmetry(final Board board, final List<int[]> areaMaps) {
+        this.areaMaps = areaMaps.toArray(new int[areaMaps.size()][]);
+        this.casImage = ColorAreaSet.constructor(board);
+    }
+
+    /**
+     * find the symmetries of the board that rename colors.
+     * @return the symmetries, or null if the board has none
+     */
+    static BoardSymmetry create(final Board board, final int startPos) {
+        final int width = board.getWidth(), height = board.getHeight();
+        final List<int[]> areaMaps = new ArrayList<int[]>();
+        // transformation: bit 0 = flip the rows, bit 1 = flip the columns, bit 2 = transpose (square boards only)
+        for (int transformation = 1;  transformation < (width == height ? 8 : 4);  ++transformation) {
+            if (startPos != transform(startPos, transformation, width, height)) {
+                continue; // for (transformation)
+            }
+            final int[] colorMap = new int[Board.MAX_NUMBER_OF_COLORS];
+            final int[] colorMapInverse = new int[Board.MAX_NUMBER_OF_COLORS];
+            Arrays.fill(colorMap, -1);
+            Arrays.fill(colorMapInverse, -1);
+            final int[] areaMap = new int[board.getColorAreasArray().length];
+            boolean isSymmetry = true;
+            for (int cell = 0;  isSymmetry && (cell < width * height);  ++cell) {
+                final int image = transform(cell, transformation, width, height);
+                final int color = board.getColor(cell), imageColor = board.getColor(image);
+                if (-1 == colorMap[color] && -1 == colorMapInverse[imageColor]) {
+                    colorMap[color] = imageColor;
+                    colorMapInverse[imageColor] = color;
+                }
+                isSymmetry = (imageColor == colorMap[color]);
+                final ColorArea ca = board.getColorArea4Cell(cell);
+                areaMap[ca.getId()] = board.getColorArea4Cell(image).getId();
+            }
+            boolean isColorRenamed = false;
+            for (int color = 0;  color < colorMap.length;  ++color) {
+                isColorRenamed |= (-1 != colorMap[color]) && (color != colorMap[color]);
+            }
+            if (isSymmetry && isColorRenamed) {
+                areaMaps.add(areaMap);
+            }
+        }
+        return (areaMaps.isEmpty() ? null : new BoardSymmetry(board, areaMaps));
+    }
+
+    private static int transform(final int cell, final int transformation, final int width, final int height) {
+        int row = cell / width, column = cell % width;
+        if (0 != (transformation & 1)) {
+            row = height - 1 - row;
+        }
+        if (0 != (transformation & 2)) {
+            column = width - 1 - column;
+        }
+        if (0 != (transformation & 4)) {
+            final int t = row;
+            row = column;
+            column = t;
+        }
+        return row * width + column;
+    }
+
+    /**
+     * @return number of symmetries used, including the identity
+     */
+    int size() {
+        return this.areaMaps.length + 1;
+    }
+
+    /**
+     * put the canonical form of the state into casDest: the smallest one of the state and its images.
+     * @param casSrc the state
+     * @param casDest receives the canonical form, must not be the same array as casSrc
+     */
+    void canonicalize(final long[] casSrc, final long[] casDest) {
+        ColorAreaSet.copyFrom(casDest, casSrc);
+        final long[] image = this.casImage;
+        for (final int[] areaMap : this.areaMaps) {
+            ColorAreaSet.clear(image);
+            this.iter.init(casSrc);
+            for (int caId;  (caId = this.iter.nextOrNegative()) >= 0;  ) {
+                final int imageId = areaMap[caId];
+                image[imageId >>> 6] |= 1L << imageId;
+            }
+            for (int i = image.length - 1;  i >= 0;  --i) {
+                final int c = Long.compareUnsigned(image[i], casDest[i]);
+                if (c < 0) {
+                    ColorAreaSet.copyFrom(casDest, image);
+                }
+                if (c != 0) {
+                    break; // for (i)
+                }
+            }
+        }
+    }
+}
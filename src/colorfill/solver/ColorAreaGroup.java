@@ -62,6 +62,13 @@ public class ColorAreaGroup {
         this.colorsNotEmptyBits = other.colorsNotEmptyBits & mask;
     }
 
+    /**
+     * copy the contents of the other color area group into this one.
+     */
+    public void copyFrom(final ColorAreaGroup other) {
+        this.copyFrom(other, -1);
+    }
+
     /**
      * add all color areas that are not members of the "exclude" set.
      * @param addColorAreas the color areas to be added
@@ -20,6 +20,7 @@ package colorfill.solver;
 import java.util.Arrays;
 
 import colorfill.model.Board;
+import colorfill.model.ColorAreaSet;
 
 /**
  * this strategy results in a complete search.
@@ -57,11 +58,17 @@ public class DfsExhaustiveStrategy implements DfsStrategy {
     }
 
     private int previousNumSteps = Integer.MAX_VALUE;
+    private final BoardSymmetry symmetry;
+    private final long[] casState, casCanonical, casEmpty;
 
-    public DfsExhaustiveStrategy(final Board board) {
+    public DfsExhaustiveStrategy(final Board board, final int startPos) {
         this.stateSize = board.getSizeColorAreas64() << 1;
         this.f = HASH_LOAD_FACTOR;
         this.constructorInt2ByteOpenCustomHashMapPutIfLess(HASH_EXPECTED);
+        this.symmetry = AbstractSolver.makeBoardSymmetry(board, startPos);
+        this.casState = ColorAreaSet.constructor(board);
+        this.casCanonical = ColorAreaSet.constructor(board);
+        this.casEmpty = ColorAreaSet.constructor(board);
     }
 
     @Override
@@ -77,7 +84,8 @@ public class DfsExhaustiveStrategy implements DfsStrategy {
         final long mbData = bData >> 20;
         return (mbHashK + mbHashV + mbData) + " MB memory used (hashMap "
                 + (mbHashK + mbHashV) + " MB, data " + mbData + " MB, size " + this.size + ")"
-                + " stateSize=" + (this.stateSize*4) + " numStates=" + (bData / (this.stateSize*4));
+                + " stateSize=" + (this.stateSize*4) + " numStates=" + (bData / (this.stateSize*4))
+                + (null == this.symmetry ? "" : " symmetries=" + this.symmetry.size());
                 //+ " less=" + this.numLess + " notLess=" + this.numNotLess;
     }
 
@@ -136,8 +144,16 @@ public class DfsExhaustiveStrategy implements DfsStrategy {
          */
         private boolean put(final long[] set1, final long[] set2, final int depth) {
             // copy state into memory at nextState
-            final long[] arr1 = set1;
-            final long[] arr2 = set2;
+            long[] arr1 = set1;
+            long[] arr2 = set2;
+            if (null != this.symmetry) {
+                // store the canonical form of the state, so that its images are found as known states
+                ColorAreaSet.copyFrom(this.casState, set1);
+                ColorAreaSet.addAll(this.casState, set2);
+                this.symmetry.canonicalize(this.casState, this.casCanonical);
+                arr1 = this.casCanonical;
+                arr2 = this.casEmpty;
+            }
             // performance: inline hashcode computation; copy&paste from hashStrategyHashCode()
             int h32 = SEED + PRIME5;
             for (int b = this.nextStateOffset, i = 0, len = arr1.length;  i < len;  ++i, ++b) {
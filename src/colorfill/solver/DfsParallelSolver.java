@@ -0,0 +1,450 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import colorfill.model.Board;
+import colorfill.model.ColorArea;
+import colorfill.model.ColorAreaSet;
+import colorfill.solver.AStarSolver.HashMapLongArray2Byte;
+
+/**
+ * a solver implementation that runs the depth-first search of DfsExhaustiveStrategy on several threads.
+ * <p>
+ * the first moves of the search are split into tasks of a ForkJoinPool, one task for each node,
+ * which are distributed to the threads by work-stealing. below SPLIT_DEPTH each task runs the
+ * same recursion as DfsSolver on its own thread. all tasks share one lock-free map of the known states
+ * and the depths they were found at, and the size of the best solution found so far, which is used for pruning.
+ * so the result is an optimal solution, like the one of DfsSolver with DfsExhaustiveStrategy.
+ */
+public class DfsParallelSolver extends AbstractSolver {
+
+    private static final int SPLIT_DEPTH = 4;           // nodes above this depth are split into tasks; CONFIGURE THIS
+    private static final int TIME_CHECK_MASK = 0x3ff;
+
+    private static final int DEFAULT_TABLE_SIZE_MIB = 1024; // CONFIGURE THIS
+    private static int tableSizeMiB = 0; // 0 = default
+
+    /**
+     * set the memory size of the state map that's shared by the threads of the parallel DFS solver.
+     * @param megabytes size in MiB, or 0 for the default: 1024 MiB, but not more than half of the Java heap
+     */
+    public static void setTableSize(final int megabytes) {
+        tableSizeMiB = Math.max(0, megabytes);
+    }
+
+    /**
+     * @return memory size of the state map in bytes
+     */
+    public static long getTableSizeBytes() {
+        if (0 != tableSizeMiB) {
+            return (long)tableSizeMiB << 20;
+        }
+        return Math.min((long)DEFAULT_TABLE_SIZE_MIB << 20, Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    private final int numThreads;
+    private int startPos;
+    private StateMap map;
+    private ThreadLocal<Workspace> workspace;
+    private final Queue<Workspace> workspaces = new ConcurrentLinkedQueue<Workspace>();
+    private volatile boolean aborted;
+
+    /** size of the best solution found so far */
+    private final AtomicInteger bestSize = new AtomicInteger();
+
+    /**
+     * construct a new solver for this Board.
+     * @param board the problem to be solved
+     * @param numThreads number of worker threads
+     */
+    protected DfsParallelSolver(final Board board, final int numThreads) {
+        super(board);
+        this.numThreads = Math.max(1, numThreads);
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#setStrategy(java.lang.Class)
+     */
+    @Override
+    public void setStrategy(final Class<? extends Strategy> strategyClass) {
+        if (false == DfsExhaustiveStrategy.class.equals(strategyClass)) {
+            throw new IllegalArgumentException(
+                    "unsupported strategy class " + strategyClass.getName()
+                    + "! " + this.getClass().getSimpleName() + " supports " + DfsExhaustiveStrategy.class.getSimpleName() + " only.");
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#getSolverName()
+     */
+    @Override
+    public String getSolverName() {
+        return DfsExhaustiveStrategy.class.getSimpleName();
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#getSolverInfo()
+     */
+    @Override
+    public String getSolverInfo() {
+        if (null == this.map) {
+            return null;
+        }
+        return this.getSolverName() + " threads=" + this.numThreads
+                + " " + (this.map.getSizeBytes() >> 20) + " MB memory used (stateMap size " + this.map.size()
+                + (0 == this.map.getNumDropped() ? "" : ", full: " + this.map.getNumDropped() + " states not stored") + ")"
+                + (this.isTimeLimitExceeded() ? " mode=timeLimit" : " mode=optimal");
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.AbstractSolver#executeInternal(int)
+     */
+    @Override
+    protected void executeInternal(final int startPos) throws InterruptedException {
+        this.startPos = startPos;
+        this.aborted = false;
+        this.bestSize.set(this.solutionSize); // only a shorter solution than the previous one is of interest
+        this.map = new StateMap(this.board.getSizeColorAreas64(), getTableSizeBytes());
+        AStarSolver.addMemoryBytesInUse(this.map.getSizeBytes()); // seen by the A* searches that run at the same time
+        this.workspaces.clear();
+        this.workspace = new ThreadLocal<Workspace>() {
+            @Override
+            protected Workspace initialValue() {
+                final Workspace result = new Workspace();
+                DfsParallelSolver.this.workspaces.add(result);
+                return result;
+            }
+        };
+
+        final ColorArea startCa = this.board.getColorArea4Cell(startPos);
+        final long[] allFlooded = ColorAreaSet.constructor(this.board);
+        final ColorAreaGroup notFlooded = new ColorAreaGroup(this.board);
+        notFlooded.addAll(this.board.getColorAreas().toArray(new ColorArea[0]), allFlooded);
+        final ColorAreaGroup neighbors = new ColorAreaGroup(this.board);
+        neighbors.addAll(new ColorArea[]{startCa}, allFlooded);
+
+        final ForkJoinPool pool = new ForkJoinPool(this.numThreads);
+        final ForkJoinTask<Void> root = pool.submit(new SearchTask(0, startCa.getColor(), new byte[0], allFlooded, notFlooded, neighbors));
+        boolean interrupted = false;
+        Throwable error = null;
+        for (;;) {
+            try {
+                root.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                this.aborted = true; // stop all tasks, then wait for them to finish
+            } catch (ExecutionException e) {
+                error = e.getCause();
+                break;
+            }
+        }
+        pool.shutdown();
+        AStarSolver.addMemoryBytesInUse(-this.map.getSizeBytes());
+        for (final Workspace ws : this.workspaces) {
+            this.metrics.add(ws.metrics);
+        }
+        this.metrics.storageBytes = this.map.getSizeBytes();
+        if (interrupted) {
+            throw new InterruptedException();
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException)error;
+        } else if (error instanceof Error) {
+            throw (Error)error;
+        } else if (null != error) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * store the solution if it's the best one found so far.
+     */
+    private synchronized void offerSolution(final byte[] solution) {
+        if (this.addSolution(solution)) {
+            this.bestSize.set(this.solutionSize);
+        }
+    }
+
+    /**
+     * a node of the search tree above SPLIT_DEPTH, with a copy of its state.
+     */
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int depth;
+        private final byte color;
+        private final byte[] solution;
+        private final long[] allFlooded;
+        private final ColorAreaGroup notFlooded, neighbors;
+
+        private SearchTask(final int depth, final byte color, final byte[] solution,
+                final long[] allFlooded, final ColorAreaGroup notFlooded, final ColorAreaGroup neighbors) {
+            this.depth = depth;
+            this.color = color;
+            this.solution = solution;
+            this.allFlooded = allFlooded;
+            this.notFlooded = notFlooded;
+            this.neighbors = neighbors;
+        }
+
+        @Override
+        protected void compute() {
+            final Workspace ws = DfsParallelSolver.this.workspace.get();
+            System.arraycopy(this.solution, 0, ws.solution, 0, this.solution.length);
+            ColorAreaSet.copyFrom(ws.allFlooded, this.allFlooded);
+            ws.notFlooded.copyFrom(this.notFlooded);
+            ws.neighbors[this.depth].copyFrom(this.neighbors);
+            if (this.depth < SPLIT_DEPTH) {
+                final List<SearchTask> tasks = new ArrayList<SearchTask>();
+                ws.search(this.depth, this.color, tasks);
+                invokeAll(tasks); // while waiting, this thread runs other tasks, which overwrite the workspace
+            } else {
+                ws.search(this.depth, this.color, null);
+            }
+        }
+    }
+
+    /**
+     * the data of the depth-first search that's used by one thread.
+     */
+    private class Workspace {
+        private final byte[] solution = new byte[MAX_SEARCH_DEPTH];
+        private final long[] allFlooded = ColorAreaSet.constructor(DfsParallelSolver.this.board);
+        private final ColorAreaGroup notFlooded = new ColorAreaGroup(DfsParallelSolver.this.board);
+        private final ColorAreaGroup[] neighbors = new ColorAreaGroup[MAX_SEARCH_DEPTH];
+        private final ColorAreaSet.Iterator iter = new ColorAreaSet.Iterator();
+        private final SolverMetrics metrics = new SolverMetrics();
+        private final BoardSymmetry symmetry = makeBoardSymmetry(DfsParallelSolver.this.board, DfsParallelSolver.this.startPos);
+        private final long[] casState = ColorAreaSet.constructor(DfsParallelSolver.this.board);
+        private final long[] casCanonical = ColorAreaSet.constructor(DfsParallelSolver.this.board);
+
+        private Workspace() {
+            for (int i = 0;  i < this.neighbors.length;  ++i) {
+                this.neighbors[i] = new ColorAreaGroup(DfsParallelSolver.this.board);
+            }
+        }
+
+        /**
+         * the recursion of DfsSolver.doRecursion(), using the shared state map and best solution size.
+         * @param tasks if not null, then the next nodes are added to this list as new tasks, instead of being searched here
+         */
+        private void search(final int depth, final byte thisColor, final List<SearchTask> tasks) {
+            final ColorAreaGroup theseNeighbors = this.neighbors[depth];
+            final long[] thisFlooded = theseNeighbors.getColor(thisColor);
+            int colorsNotFlooded = this.notFlooded.countColorsNotEmpty();
+            if (ColorAreaSet.size(thisFlooded) == ColorAreaSet.size(this.notFlooded.getColor(thisColor))) {
+                --colorsNotFlooded;
+            }
+
+            // finished the search?
+            if (0 == colorsNotFlooded) {
+                this.solution[depth] = thisColor;
+                // skip element 0 because it's not a step but just the initial color at startPos
+                DfsParallelSolver.this.offerSolution(Arrays.copyOfRange(this.solution, 1, depth + 1));
+
+            // do next step
+            } else if ((DfsParallelSolver.this.bestSize.get() > depth + colorsNotFlooded)
+                    && (false == DfsParallelSolver.this.aborted)) {
+
+                if ((0 == (++this.metrics.nodesExpanded & TIME_CHECK_MASK)) && DfsParallelSolver.this.isTimeUp()) {
+                    DfsParallelSolver.this.aborted = true;
+                }
+
+                this.solution[depth] = thisColor;
+                this.notFlooded.removeAllColor(thisFlooded, thisColor);
+                ColorAreaSet.addAll(this.allFlooded, thisFlooded);
+                final ColorAreaGroup nextNeighbors = this.neighbors[depth + 1];
+                nextNeighbors.copyFrom(theseNeighbors, thisColor);
+                // add new neighbors
+                this.iter.init(thisFlooded);
+                int nextId;
+                while ((nextId = this.iter.nextOrNegative()) >= 0) {
+                    nextNeighbors.addAll(DfsParallelSolver.this.board.getColorArea4Id(nextId).getNeighborsArray(), this.allFlooded);
+                }
+                int nextColors = this.selectColors(depth, nextNeighbors);
+                // go to next recursion level, or make the tasks for it
+                while (0 != nextColors) {
+                    final int l1b = nextColors & -nextColors; // Integer.lowestOneBit()
+                    final int clz = Integer.numberOfLeadingZeros(l1b);
+                    nextColors ^= l1b; // clear lowest one bit
+                    ++this.metrics.nodesGenerated;
+                    if (null == tasks) {
+                        this.search(depth + 1, (byte)(31 - clz), null);
+                    } else {
+                        final ColorAreaGroup taskNotFlooded = new ColorAreaGroup(DfsParallelSolver.this.board);
+                        taskNotFlooded.copyFrom(this.notFlooded);
+                        final ColorAreaGroup taskNeighbors = new ColorAreaGroup(DfsParallelSolver.this.board);
+                        taskNeighbors.copyFrom(nextNeighbors);
+                        tasks.add(new SearchTask(depth + 1, (byte)(31 - clz), Arrays.copyOf(this.solution, depth + 1),
+                                this.allFlooded.clone(), taskNotFlooded, taskNeighbors));
+                    }
+                }
+                ColorAreaSet.removeAll(this.allFlooded, thisFlooded); // restore for backtracking
+                this.notFlooded.addAllColor(thisFlooded, thisColor); // restore for backtracking
+            }
+        }
+
+        /**
+         * the colors selection of DfsExhaustiveStrategy.selectColors().
+         */
+        private int selectColors(final int depth, final ColorAreaGroup neighbors) {
+            int result;
+            final int diffNumSteps = depth + this.notFlooded.countColorsNotEmpty() - DfsParallelSolver.this.bestSize.get();
+            if (diffNumSteps >= 0) {
+                result = 0;
+            } else {
+                result = neighbors.getColorsCompleted(this.notFlooded);
+                // if no colors can be completed now
+                // then we will need at least one step more than there are colors left
+                if ((0 == result) && (diffNumSteps < -1)) {
+                    // filter the result:
+                    // only include colors which do not result in already known states (at this or lower depth)
+                    for (int color = 0, colorsBits = neighbors.getColorsNotEmpty();  0 != colorsBits;  color++, colorsBits >>= 1) {
+                        if ((0 != (colorsBits & 1)) && this.put(neighbors.getColor((byte)color), depth + 1)) {
+                            result |= 1 << color;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * put the state (allFlooded and the next color areas) into the shared map.
+         * @return true if the state should be searched
+         */
+        private boolean put(final long[] nextFlooded, final int depth) {
+            ColorAreaSet.copyFrom(this.casState, this.allFlooded);
+            ColorAreaSet.addAll(this.casState, nextFlooded);
+            if (null == this.symmetry) {
+                return DfsParallelSolver.this.map.putIfLess(this.casState, depth);
+            }
+            this.symmetry.canonicalize(this.casState, this.casCanonical);
+            return DfsParallelSolver.this.map.putIfLess(this.casCanonical, depth);
+        }
+    }
+
+    /**
+     * the known states and the depths they were found at, like the map in DfsExhaustiveStrategy,
+     * but lock-free so that all threads can use it, and with a fixed size.
+     * <p>
+     * each slot has one word that holds the hash value of the key, a flag that the key has been written, and the depth.
+     * a new key is inserted by claiming an empty slot (CAS), copying the key and then setting the flag.
+     * a smaller depth is set by CAS on the same word: there's no CAS on a byte, so the depth is the lowest byte of the word.
+     * <p>
+     * when a key can't be inserted within MAX_PROBES slots, then it's not stored: its state may be searched again,
+     * which makes the search slower, but the result is still optimal.
+     */
+    private static final class StateMap {
+        private static final int MAX_PROBES = 256;
+        private static final long FLAG_CLAIMED = 1L << 9, FLAG_READY = 1L << 8, MASK_DEPTH = 0xffL, MASK_HASH = 0xffffffff00000000L;
+
+        private final int keySize, mask;
+        private final long[] keys;
+        private final AtomicLongArray slots;
+        private final LongAdder size = new LongAdder(), numDropped = new LongAdder();
+
+        private StateMap(final int keySize, final long sizeBytes) {
+            this.keySize = keySize;
+            final long maxEntries = Math.min(sizeBytes / (keySize * Long.BYTES + Long.BYTES), Integer.MAX_VALUE / keySize);
+            final int numEntries = Integer.highestOneBit((int)Math.max(MAX_PROBES, maxEntries));
+            this.keys = new long[numEntries * keySize];
+            this.slots = new AtomicLongArray(numEntries);
+            this.mask = numEntries - 1;
+        }
+
+        private long size() {
+            return this.size.sum();
+        }
+
+        private long getNumDropped() {
+            return this.numDropped.sum();
+        }
+
+        private long getSizeBytes() {
+            return ((long)this.keys.length + this.slots.length()) * Long.BYTES;
+        }
+
+        /**
+         * put the key / depth pair into this map if the key is not already in the
+         * map or if it already exists and the new depth is less than the old depth.
+         * @return true if the pair was added or the depth was updated, or if the map is full;
+         *         false if the key exists with the same or a smaller depth
+         */
+        private boolean putIfLess(final long[] key, final int depth) {
+            final int h32 = HashMapLongArray2Byte.hash(key, 0, this.keySize);
+            final long hash = (long)h32 << 32;
+            for (int probe = 0, pos = h32 & this.mask;  probe < MAX_PROBES;  ++probe, pos = (pos + 1) & this.mask) {
+                long slot = this.slots.get(pos);
+                if (0 == slot) {
+                    if (this.slots.compareAndSet(pos, 0, hash | FLAG_CLAIMED)) {
+                        System.arraycopy(key, 0, this.keys, pos * this.keySize, this.keySize);
+                        this.slots.set(pos, hash | FLAG_CLAIMED | FLAG_READY | depth); // publish the key
+                        this.size.increment();
+                        return true; // ADDED
+                    }
+                    slot = this.slots.get(pos); // claimed by another thread
+                }
+                if ((slot & MASK_HASH) != hash) {
+                    continue; // for (probe)
+                }
+                while (0 == (slot & FLAG_READY)) { // the other thread is still copying its key
+                    Thread.yield();
+                    slot = this.slots.get(pos);
+                }
+                if (false == this.keyEquals(pos, key)) {
+                    continue; // for (probe)
+                }
+                for (;;) {
+                    if ((slot & MASK_DEPTH) <= depth) {
+                        return false; // NOT CHANGED
+                    }
+                    if (this.slots.compareAndSet(pos, slot, (slot & ~MASK_DEPTH) | depth)) {
+                        return true; // UPDATED
+                    }
+                    slot = this.slots.get(pos);
+                }
+            }
+            this.numDropped.increment();
+            return true; // map is full here
+        }
+
+        private boolean keyEquals(final int pos, final long[] key) {
+            for (int i = 0, k = pos * this.keySize;  i < this.keySize;  ++i, ++k) {
+                if (this.keys[k] != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -28,6 +28,8 @@ import colorfill.model.ColorAreaSet;
  */
 public class DfsSolver extends AbstractSolver {
 
+    private static final int TIME_CHECK_MASK = 0x3ff;
+
     private Class<? extends DfsStrategy> strategyClass = DfsGreedyStrategy.class; // default
     private DfsStrategy strategy;
 
@@ -70,7 +72,7 @@ public class DfsSolver extends AbstractSolver {
         } else if (DfsDeeperStrategy.class.equals(this.strategyClass)) {
             result = new DfsDeeperStrategy(this.board, startPos);
         } else if (DfsExhaustiveStrategy.class.equals(this.strategyClass)) {
-            result = new DfsExhaustiveStrategy(this.board);
+            result = new DfsExhaustiveStrategy(this.board, startPos);
         } else {
             throw new IllegalArgumentException(
                     "unsupported strategy class " + this.strategyClass.getName());
@@ -92,10 +94,11 @@ public class DfsSolver extends AbstractSolver {
     @Override
     public String getSolverInfo() {
         final String info = this.strategy == null ? null : this.strategy.getInfo();
+        final String mode = this.isTimeLimitExceeded() ? "mode=timeLimit" : null;
         if ((null == info) || info.isEmpty()) {
-            return null;
+            return (null == mode ? null : this.getSolverName() + " " + mode);
         } else {
-            return this.getSolverName() + " " + info;
+            return this.getSolverName() + " " + info + (null == mode ? "" : " " + mode);
         }
     }
 
@@ -149,9 +152,13 @@ public class DfsSolver extends AbstractSolver {
             this.strategy.setPreviousNumSteps(this.solutionSize);
 
         // do next step
-        } else if (this.solutionSize > depth + colorsNotFlooded) { // TODO use ">=" instead of ">" to find all shortest solutions; slower!
+        } else if ((this.solutionSize > depth + colorsNotFlooded) // TODO use ">=" instead of ">" to find all shortest solutions; slower!
+                && (false == this.isTimeLimitExceeded())) {
 
             if (Thread.interrupted()) { throw new InterruptedException(); }
+            if (0 == (++this.metrics.nodesExpanded & TIME_CHECK_MASK)) {
+                this.isTimeUp();
+            }
 
             this.solution[depth] = thisColor;
             this.notFlooded.removeAllColor(thisFlooded, thisColor);
@@ -171,6 +178,7 @@ public class DfsSolver extends AbstractSolver {
                 final int l1b = nextColors & -nextColors; // Integer.lowestOneBit()
                 final int clz = Integer.numberOfLeadingZeros(l1b); // hopefully an intrinsic function using instruction BSR / LZCNT / CLZ
                 nextColors ^= l1b; // clear lowest one bit
+                ++this.metrics.nodesGenerated;
                 doRecursion(depth + 1, (byte)(31 - clz));
             }
             ColorAreaSet.removeAll(this.allFlooded, thisFlooded); // restore for backtracking
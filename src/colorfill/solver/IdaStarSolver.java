@@ -0,0 +1,388 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.util.Arrays;
+
+import colorfill.model.Board;
+import colorfill.model.ColorArea;
+import colorfill.model.ColorAreaSet;
+import colorfill.solver.AStarSolver.HashMapLongArray2Byte;
+import colorfill.solver.AStarSolver.HeapStateStorage;
+import colorfill.solver.AStarSolver.StateStorage;
+
+/**
+ * a solver implementation that implements the iterative-deepening AStar (IDA*) algorithm.
+ * <p>
+ * it uses the same AStarStrategy (heuristic) and duplicate move pruning as AStarSolver,
+ * so it finds the same optimal solutions. the memory used by the search is bounded:
+ * one state per search depth plus a transposition table of fixed size,
+ * which prunes the states that have been visited before.
+ * this is traded for some repeated work in each iteration.
+ */
+public class IdaStarSolver extends AbstractSolver {
+
+    private static final int DEFAULT_TABLE_SIZE_MIB = 256; // CONFIGURE THIS
+    private static int tableSizeMiB = 0; // 0 = default
+
+    /**
+     * set the memory size of the transposition table used by the IDA* solver.
+     * each thread that runs the solver has its own table, which is reused for all boards it solves.
+     * @param megabytes size in MiB, or 0 for the default: 256 MiB, but not more than a quarter of the Java heap
+     */
+    public static void setTableSize(final int megabytes) {
+        tableSizeMiB = Math.max(0, megabytes);
+    }
+
+    /**
+     * @return memory size of the transposition table in bytes
+     */
+    public static long getTableSizeBytes() {
+        if (0 != tableSizeMiB) {
+            return (long)tableSizeMiB << 20;
+        }
+        return Math.min((long)DEFAULT_TABLE_SIZE_MIB << 20, Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    /** the transposition table of each thread; allocating and zeroing it for each board would take longer than most searches */
+    private static final ThreadLocal<TranspositionTable> threadTable = new ThreadLocal<TranspositionTable>();
+
+    private static final int INTERRUPT_CHECK_MASK = 0x3f; // each node costs a call of estimateCost() per color, so the time is checked often
+
+    private Class<? extends AStarStrategy> strategyClass = AStarPuchertStrategy.class; // default
+    private AStarStrategy strategy;
+    private StateStorage storage;
+    private TranspositionTable table;
+    private final ColorAreaSet.IteratorAnd iterAnd;
+    private final long[][] casByColorBits;
+    private final long[][] idsNeighborColorAreaSets;
+    private final int allColorBits;
+    private final long[][] casFlooded, casNeighbors; // one state per search depth
+    private final int[] floodedEntry, neighborsEntry; // the same states in StateStorage, for the strategy
+    private final byte[] moves;
+    private final AStarNode node = new AStarNode();
+    private int threshold, iterations;
+    private long numExpanded;
+
+    /**
+     * construct a new solver for this Board.
+     * @param board the problem to be solved
+     */
+    protected IdaStarSolver(final Board board) {
+        super(board);
+        this.iterAnd = new ColorAreaSet.IteratorAnd();
+        this.casByColorBits = board.getCasByColorBitsArray();
+        this.idsNeighborColorAreaSets = board.getNeighborColorAreaSet4IdArray();
+        this.allColorBits = this.casByColorBits.length - 1;
+        this.casFlooded = new long[MAX_SEARCH_DEPTH + 2][];
+        this.casNeighbors = new long[MAX_SEARCH_DEPTH + 2][];
+        for (int depth = 0;  depth < this.casFlooded.length;  ++depth) {
+            this.casFlooded[depth] = ColorAreaSet.constructor(board);
+            this.casNeighbors[depth] = ColorAreaSet.constructor(board);
+        }
+        this.floodedEntry = new int[this.casFlooded.length];
+        this.neighborsEntry = new int[this.casFlooded.length];
+        this.moves = new byte[this.casFlooded.length];
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#setStrategy(java.lang.Class)
+     */
+    @Override
+    public void setStrategy(final Class<? extends Strategy> strategyClass) {
+        if (false == AStarStrategy.class.isAssignableFrom(strategyClass)) {
+            throw new IllegalArgumentException(
+                    "unsupported strategy class " + strategyClass.getName()
+                    + "! " + this.getClass().getSimpleName() + " supports " + AStarStrategy.class.getSimpleName() + " only.");
+        }
+        this.strategyClass = strategyClass.asSubclass(AStarStrategy.class);
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#getSolverName()
+     */
+    @Override
+    public String getSolverName() {
+        return this.strategyClass.getSimpleName();
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.Solver#getSolverInfo()
+     */
+    @Override
+    public String getSolverInfo() {
+        if (null == this.table) {
+            return null;
+        }
+        return this.getSolverName() + " IDA* iterations=" + this.iterations + " expanded=" + this.numExpanded
+                + " tableHits=" + this.table.numHits + " tableEntries=" + this.table.getNumEntries()
+                + " table=" + (this.table.getSizeBytes() >> 20) + "MiB"
+                + (this.isTimeLimitExceeded() ? " mode=timeLimit" : " mode=optimal");
+    }
+
+    /* (non-Javadoc)
+     * @see colorfill.solver.AbstractSolver#executeInternal(int)
+     */
+    @Override
+    protected void executeInternal(final int startPos) throws InterruptedException {
+        AStarSolver.addUpperBoundSolution(this, startPos); // the iterations stop at the length of this solution
+        this.storage = new HeapStateStorage(this.board);
+        for (int depth = 0;  depth < this.casFlooded.length;  ++depth) {
+            this.floodedEntry[depth] = this.storage.put(this.casFlooded[depth]);
+            this.neighborsEntry[depth] = this.storage.put(this.casNeighbors[depth]);
+        }
+        this.strategy = AStarSolver.makeStrategy(this.strategyClass, this.board, this.storage);
+        this.table = getTable(this.board.getSizeColorAreas64());
+        this.iterations = 0;
+        this.numExpanded = 0;
+        final long memoryBytes = this.storage.getSizeBytes() + this.table.getSizeBytes();
+        AStarSolver.addMemoryBytesInUse(memoryBytes); // seen by the A* searches that run at the same time
+        try {
+            this.executeSearch(startPos);
+        } finally {
+            AStarSolver.addMemoryBytesInUse(-memoryBytes);
+            this.metrics.nodesExpanded = this.numExpanded;
+            this.metrics.duplicatesRejected = this.table.numHits;
+            this.metrics.storageBytes = memoryBytes;
+        }
+    }
+
+    /**
+     * get the transposition table of the current thread, emptied, or a new one if the configured size
+     * of the table has changed. its size is limited by the memory budget of the A* solver.
+     */
+    private static TranspositionTable getTable(final int keySize) {
+        final long sizeBytes = Math.min(getTableSizeBytes(), AStarSolver.getMemoryBudget());
+        TranspositionTable table = threadTable.get();
+        if ((null == table) || (table.sizeBytes != sizeBytes)) {
+            threadTable.set(null); // release the old table before the new one is allocated
+            table = new TranspositionTable(keySize, sizeBytes);
+            threadTable.set(table);
+        }
+        table.clear(keySize);
+        return table;
+    }
+
+    /**
+     * run the iterations of the search.
+     */
+    private void executeSearch(final int startPos) throws InterruptedException {
+        final ColorArea startCa = this.board.getColorArea4Cell(startPos);
+        final long[] flooded = this.casFlooded[0], neighbors = this.casNeighbors[0];
+        ColorAreaSet.clear(flooded);
+        ColorAreaSet.add(flooded, startCa);
+        ColorAreaSet.clear(neighbors);
+        ColorAreaSet.addAll(neighbors, startCa.getNeighborsColorAreaSet());
+        int nonCompletedColors = this.allColorBits;
+        for (int colorBit = 1;  colorBit < this.casByColorBits.length;  colorBit <<= 1) {
+            if (ColorAreaSet.containsAll(flooded, this.casByColorBits[colorBit])) {
+                nonCompletedColors ^= colorBit;
+            }
+        }
+        if (0 == (nonCompletedColors & (nonCompletedColors - 1))) { // one or zero colors remaining
+            this.addSolution(0 == nonCompletedColors ? new byte[0] : new byte[] {(byte)Integer.numberOfTrailingZeros(nonCompletedColors)});
+            return;
+        }
+        this.storage.set(this.floodedEntry[0], flooded);
+        this.storage.set(this.neighborsEntry[0], neighbors);
+        this.node.set(this.floodedEntry[0], this.neighborsEntry[0], 0, 0, 0);
+        final int startColorBit = 1 << startCa.getColor();
+        // the estimation is admissible, so the threshold is increased by one in each iteration
+        // and the first solution found is an optimal one.
+        for (this.threshold = this.metrics.estimateCost(this.strategy, this.node, nonCompletedColors);
+                (this.threshold < this.solutionSize) && (this.threshold <= MAX_SEARCH_DEPTH) && (false == this.isTimeLimitExceeded());
+                ++this.threshold) {
+            ++this.iterations;
+            this.table.nextIteration();
+            if (this.search(0, nonCompletedColors, startColorBit)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * the recursive depth-first search, limited by the current threshold.
+     * @return true if a solution has been found
+     */
+    private boolean search(final int depth, final int nonCompletedColors, final int prevColorBit) throws InterruptedException {
+        if (0 == (++this.numExpanded & INTERRUPT_CHECK_MASK)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            this.isTimeUp();
+        }
+        if (this.isTimeLimitExceeded()) {
+            return false; // stop all iterations
+        }
+        final long[] flooded = this.casFlooded[depth], neighbors = this.casNeighbors[depth];
+        final long[] nextFlooded = this.casFlooded[depth + 1], nextNeighbors = this.casNeighbors[depth + 1];
+        final int nextSolutionSize = depth + 1;
+        for (int colors = (nonCompletedColors & ~prevColorBit);  0 != colors;  colors &= colors - 1) {
+            final int colorBit = Integer.lowestOneBit(colors);
+            final long[] casColorBit = this.casByColorBits[colorBit];
+            if (false == ColorAreaSet.intersects(neighbors, casColorBit)) {
+                continue; // for (colors)
+            }
+            if (false == AStarSolver.canPlay(colorBit, this.iterAnd.init(neighbors, casColorBit), prevColorBit, flooded, this.casByColorBits, this.idsNeighborColorAreaSets)) {
+                ++this.metrics.canPlayPrunes;
+            } else {
+                this.moves[depth] = (byte)Integer.numberOfTrailingZeros(colorBit);
+                ColorAreaSet.copyFrom(nextFlooded, flooded);
+                ColorAreaSet.addAllAnd(nextFlooded, neighbors, casColorBit);
+                final int nextNonCompletedColors = (ColorAreaSet.containsAll(nextFlooded, casColorBit) ? nonCompletedColors ^ colorBit : nonCompletedColors);
+                // finished?
+                if (0 == (nextNonCompletedColors & (nextNonCompletedColors - 1))) { // one or zero colors remaining
+                    if (0 == nextNonCompletedColors) {
+                        if (nextSolutionSize <= this.threshold) {
+                            this.addSolution(Arrays.copyOf(this.moves, nextSolutionSize));
+                            return true;
+                        }
+                    } else if (nextSolutionSize + 1 <= this.threshold) {
+                        this.moves[nextSolutionSize] = (byte)Integer.numberOfTrailingZeros(nextNonCompletedColors);
+                        this.addSolution(Arrays.copyOf(this.moves, nextSolutionSize + 1));
+                        return true;
+                    }
+                    continue; // for (colors)
+                }
+                if (nextSolutionSize >= this.threshold) {
+                    continue; // at least one more step is required
+                }
+                if (false == this.table.visit(nextFlooded, nextSolutionSize)) {
+                    continue; // this state has been searched already
+                }
+                ++this.metrics.nodesGenerated;
+                ColorAreaSet.copyFrom(nextNeighbors, neighbors);
+                ColorAreaSet.addAllAndLookup(nextNeighbors, neighbors, casColorBit, this.idsNeighborColorAreaSets);
+                ColorAreaSet.removeAll(nextNeighbors, nextFlooded);
+                this.storage.set(this.floodedEntry[depth + 1], nextFlooded);
+                this.storage.set(this.neighborsEntry[depth + 1], nextNeighbors);
+                this.node.set(this.floodedEntry[depth + 1], this.neighborsEntry[depth + 1], 0, nextSolutionSize, 0);
+                if (nextSolutionSize + this.metrics.estimateCost(this.strategy, this.node, nextNonCompletedColors) > this.threshold) {
+                    continue;
+                }
+                if (this.search(depth + 1, nextNonCompletedColors, colorBit)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * This class is a fixed-size transposition table that stores the visited states
+     * (the "flooded" ColorAreaSet) together with their solution size and the iteration number.
+     * The keys are stored completely, so there are no false positives.
+     * Each key can be stored in one of two slots; if both are in use then one of them is replaced,
+     * preferably the one that was stored in a previous iteration or the one with the bigger solution size.
+     * The arrays are sized for the keys of the first board; the boards that follow may have
+     * a different key size, so they use fewer entries (longer keys) or a part of the keys array (shorter keys).
+     */
+    private static class TranspositionTable {
+        private static final int DATA_SHIFT_ITERATION = Byte.SIZE;
+        private static final int DATA_MASK_SOLUTION_SIZE = (1 << DATA_SHIFT_ITERATION) - 1;
+        private static final int MAX_ITERATION = (Integer.MAX_VALUE >>> DATA_SHIFT_ITERATION) - (MAX_SEARCH_DEPTH + 2);
+        private int keySize;
+        private final long sizeBytes; // as requested by the constructor
+        private final long[] keys;
+        private final int[] data; // iteration and solution size; an iteration before firstIteration means empty
+        private int mask;
+        private int iteration, firstIteration = 1; // the entries of older iterations than firstIteration belong to previous boards
+        private long numHits;
+
+        private TranspositionTable(final int keySize, final long sizeBytes) {
+            this.keySize = keySize;
+            this.sizeBytes = sizeBytes;
+            final long maxEntries = Math.min(sizeBytes / (keySize * Long.BYTES + Integer.BYTES), Integer.MAX_VALUE / keySize);
+            final int numEntries = Integer.highestOneBit((int)Math.max(2, maxEntries));
+            this.keys = new long[numEntries * keySize];
+            this.data = new int[numEntries];
+        }
+
+        private void nextIteration() {
+            ++this.iteration;
+        }
+
+        /**
+         * remove all entries, for the next board. the iterations go on counting, so the old entries
+         * can be recognized and don't need to be cleared, until the counter is close to its limit.
+         * @param keySize number of "long" elements of the keys of the next board
+         */
+        private void clear(final int keySize) {
+            if (this.iteration >= MAX_ITERATION) {
+                Arrays.fill(this.data, 0);
+                this.iteration = 0;
+            }
+            this.firstIteration = this.iteration + 1;
+            this.numHits = 0;
+            this.keySize = keySize;
+            final int numEntries = Integer.highestOneBit(Math.max(2, Math.min(this.data.length, this.keys.length / keySize)));
+            this.mask = (numEntries - 1) & ~1; // two slots for each key
+        }
+
+        private int getNumEntries() {
+            return this.mask + 2;
+        }
+
+        private long getSizeBytes() {
+            return (long)this.keys.length * Long.BYTES + (long)this.data.length * Integer.BYTES;
+        }
+
+        /**
+         * check if this state should be searched, and if so then store it.
+         * @return false if this state has been searched before, in this iteration with the same
+         *         or a smaller solution size, or in any iteration with a smaller solution size.
+         */
+        private boolean visit(final long[] key, final int solutionSize) {
+            final int newData = (this.iteration << DATA_SHIFT_ITERATION) | solutionSize;
+            final int index = HashMapLongArray2Byte.hash(key, 0, this.keySize) & this.mask;
+            for (int slot = index;  slot <= index + 1;  ++slot) {
+                final int oldData = this.data[slot];
+                if (((oldData >>> DATA_SHIFT_ITERATION) >= this.firstIteration) && this.keyEquals(slot, key)) {
+                    final int oldSolutionSize = oldData & DATA_MASK_SOLUTION_SIZE;
+                    if ((oldSolutionSize < solutionSize) || ((oldSolutionSize == solutionSize) && (oldData == newData))) {
+                        ++this.numHits;
+                        return false;
+                    }
+                    this.data[slot] = newData;
+                    return true;
+                }
+            }
+            // not found: replace one of the two slots
+            final int data0 = this.data[index], data1 = this.data[index + 1];
+            final int slot;
+            if ((data0 >>> DATA_SHIFT_ITERATION) != (data1 >>> DATA_SHIFT_ITERATION)) {
+                slot = ((data0 >>> DATA_SHIFT_ITERATION) < (data1 >>> DATA_SHIFT_ITERATION) ? index : index + 1); // older iteration, or empty
+            } else {
+                slot = ((data0 & DATA_MASK_SOLUTION_SIZE) >= (data1 & DATA_MASK_SOLUTION_SIZE) ? index : index + 1); // smaller subtree
+            }
+            System.arraycopy(key, 0, this.keys, slot * this.keySize, this.keySize);
+            this.data[slot] = newData;
+            return true;
+        }
+
+        private boolean keyEquals(final int slot, final long[] key) {
+            for (int i = 0, k = slot * this.keySize;  i < this.keySize;  ++i, ++k) {
+                if (key[i] != this.keys[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -55,4 +55,17 @@ public interface Solver {
      * @return some info, may be null or empty if the particular solver has nothing to say.
      */
     public String getSolverInfo();
+
+    /**
+     * check if the last call of execute() has been stopped by the time limit (or the deadline).
+     * in this case the solution is the best one found before the limit, not necessarily the best one of this solver.
+     * @return true if the time limit has been exceeded
+     */
+    public boolean isTimeLimitExceeded();
+
+    /**
+     * get the counters of the work done by the solver in the last call of execute().
+     * @return the metrics, not null
+     */
+    public SolverMetrics getMetrics();
 }
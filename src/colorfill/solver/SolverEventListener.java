@@ -0,0 +1,72 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import colorfill.model.Board;
+
+/**
+ * receives the events of the solvers, which show where the time and the memory of a run went.
+ * the methods may be called concurrently by several solver threads.
+ * @see AbstractSolver#setEventListener(SolverEventListener)
+ */
+public interface SolverEventListener {
+
+    /**
+     * a solver starts to solve a board.
+     * @param solver the solver
+     * @param board the board
+     */
+    public void solveStarted(Solver solver, Board board);
+
+    /**
+     * a solver has finished (or has been interrupted).
+     * @param solver the solver, its metrics are complete
+     * @param board the board
+     * @param numSteps number of steps of the solution, or -1 if the solver has been interrupted
+     * @param nanos duration of the solver run
+     */
+    public void solveFinished(Solver solver, Board board, int numSteps, long nanos);
+
+    /**
+     * a solver has found a solution that's shorter than all its previous solutions of this run.
+     * an anytime search reports several of them, each one shorter than the one before.
+     * @param solver the solver
+     * @param board the board
+     * @param solution the new best solution
+     * @param nanos time since the start of the solver run
+     */
+    public void solutionImproved(Solver solver, Board board, Solution solution, long nanos);
+
+    /**
+     * the table of the closed set (the visited states) of the AStar solver has been enlarged.
+     * the entries are not moved here; the following insertions move a few of them each.
+     * @param oldCapacity previous number of slots
+     * @param newCapacity new number of slots
+     * @param nanos duration of the allocation of the new tables
+     */
+    public void hashTableResized(int oldCapacity, int newCapacity, long nanos);
+
+    /**
+     * a data structure of the AStar solver has allocated another block of memory.
+     * @param owner name of the data structure, like "StateStorage" or "SolutionTree"
+     * @param blockBytes size of the new block
+     * @param totalBytes size of all blocks of this data structure
+     * @param nanos duration of the allocation
+     */
+    public void memoryBlockAllocated(String owner, long blockBytes, long totalBytes, long nanos);
+}
@@ -0,0 +1,89 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import colorfill.model.Board;
+
+/**
+ * writes the events of the solvers to a text file, one line per event:
+ * milliseconds since the log was opened, thread name, event name, and the event data as "key=value".
+ * each line also contains the used heap memory, so the memory growth can be related to the events.
+ */
+public class SolverEventLog implements SolverEventListener, AutoCloseable {
+
+    private final PrintWriter writer;
+    private final long nanoStart = System.nanoTime();
+    private final Runtime runtime = Runtime.getRuntime();
+
+    /**
+     * create the log file.
+     * @param fileName name of the log file
+     */
+    public SolverEventLog(final String fileName) throws IOException {
+        this.writer = new PrintWriter(new BufferedWriter(new FileWriter(fileName)));
+    }
+
+    private synchronized void log(final String event, final String data) {
+        this.writer.println(millis(System.nanoTime() - this.nanoStart) + " " + Thread.currentThread().getName() + " " + event + " " + data
+                + " heapUsed=" + ((this.runtime.totalMemory() - this.runtime.freeMemory()) >> 20) + "MiB");
+        this.writer.flush(); // the log should be complete when a run is stopped
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%d.%03d", Long.valueOf(nanos / 1000000L), Long.valueOf(nanos / 1000L % 1000L));
+    }
+
+    @Override
+    public void solveStarted(final Solver solver, final Board board) {
+        this.log("solveStarted", "solver=" + solver.getSolverName()
+                + " width=" + board.getWidth() + " height=" + board.getHeight() + " colors=" + board.getNumColors());
+    }
+
+    @Override
+    public void solveFinished(final Solver solver, final Board board, final int numSteps, final long nanos) {
+        this.log("solveFinished", "solver=" + solver.getSolverName()
+                + " width=" + board.getWidth() + " height=" + board.getHeight() + " colors=" + board.getNumColors()
+                + " steps=" + numSteps + " milliSeconds=" + millis(nanos) + " " + solver.getMetrics());
+    }
+
+    @Override
+    public void solutionImproved(final Solver solver, final Board board, final Solution solution, final long nanos) {
+        this.log("solutionImproved", "solver=" + solver.getSolverName()
+                + " steps=" + solution.getNumSteps() + " milliSeconds=" + millis(nanos));
+    }
+
+    @Override
+    public void hashTableResized(final int oldCapacity, final int newCapacity, final long nanos) {
+        this.log("hashTableResized", "oldCapacity=" + oldCapacity + " newCapacity=" + newCapacity + " milliSeconds=" + millis(nanos));
+    }
+
+    @Override
+    public void memoryBlockAllocated(final String owner, final long blockBytes, final long totalBytes, final long nanos) {
+        this.log("memoryBlockAllocated", "owner=" + owner + " blockBytes=" + blockBytes + " totalBytes=" + totalBytes + " milliSeconds=" + millis(nanos));
+    }
+
+    @Override
+    public void close() {
+        this.writer.close();
+    }
+}
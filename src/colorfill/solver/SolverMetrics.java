@@ -0,0 +1,198 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.solver;
+
+/**
+ * counters of the work done by a solver in execute().
+ * each solver owns one object of this class and updates its plain fields
+ * without synchronization, so the overhead in the search loops is minimal.
+ * the batch modes aggregate the metrics of all solved boards using add().
+ * <p>
+ * the time spent in estimateCost() is measured for one of every
+ * (ESTIMATE_COST_SAMPLE_MASK + 1) calls only, and extrapolated.
+ */
+public class SolverMetrics {
+
+    static final int ESTIMATE_COST_SAMPLE_MASK = 0x3f;
+
+    long nodesExpanded;         // nodes taken from the open queue (or visited by depth-first search)
+    long nodesGenerated;        // child nodes created by playing a color
+    long duplicatesRejected;    // child states that have been visited before with the same or a lower number of moves
+    long canPlayPrunes;         // moves skipped by canPlay(), because they lead to a state that can be reached by another order of the moves
+    long peakOpenSize;          // highest number of nodes in the open queue
+    long storageBytes;          // bytes allocated by StateStorage
+    long solutionTreeEntries;   // moves stored in SolutionTree
+    long hashTableResizes;      // number of times the table of the closed set has been enlarged
+    long estimateCostCalls;     // number of calls of AStarStrategy.estimateCost()
+    long estimateCostNanos;     // time spent in AStarStrategy.estimateCost(), extrapolated from samples
+    long estimateCostCacheHits; // estimateCost() not called, because the value has been cached in the closed set
+    long upperBoundPrunes;      // child nodes dropped because their estimated cost is not lower than the best solution known so far
+    long keyCompares;           // keys compared in StateStorage by the closed set, because their hash values were equal
+    long hashCollisions;        // keys in the closed set that had the same hash value as the new key, but were not equal
+    long memoryRestarts;        // searches restarted as weighted A*, because the memory budget has been exceeded
+
+    /**
+     * constructor, all counters are zero.
+     */
+    public SolverMetrics() {
+        // nothing
+    }
+
+    /**
+     * set all counters to zero.
+     */
+    void clear() {
+        this.nodesExpanded = 0;
+        this.nodesGenerated = 0;
+        this.duplicatesRejected = 0;
+        this.canPlayPrunes = 0;
+        this.peakOpenSize = 0;
+        this.storageBytes = 0;
+        this.solutionTreeEntries = 0;
+        this.hashTableResizes = 0;
+        this.estimateCostCalls = 0;
+        this.estimateCostNanos = 0;
+        this.estimateCostCacheHits = 0;
+        this.upperBoundPrunes = 0;
+        this.keyCompares = 0;
+        this.hashCollisions = 0;
+        this.memoryRestarts = 0;
+    }
+
+    /**
+     * add the counters of the other object to this one.
+     * the sizes (peak open queue, storage) are combined using the maximum, all others are summed up.
+     * @param other metrics of another solver, or null
+     */
+    public void add(final SolverMetrics other) {
+        if (null == other) {
+            return;
+        }
+        this.nodesExpanded += other.nodesExpanded;
+        this.nodesGenerated += other.nodesGenerated;
+        this.duplicatesRejected += other.duplicatesRejected;
+        this.canPlayPrunes += other.canPlayPrunes;
+        this.peakOpenSize = Math.max(this.peakOpenSize, other.peakOpenSize);
+        this.storageBytes = Math.max(this.storageBytes, other.storageBytes);
+        this.solutionTreeEntries += other.solutionTreeEntries;
+        this.hashTableResizes += other.hashTableResizes;
+        this.estimateCostCalls += other.estimateCostCalls;
+        this.estimateCostNanos += other.estimateCostNanos;
+        this.estimateCostCacheHits += other.estimateCostCacheHits;
+        this.upperBoundPrunes += other.upperBoundPrunes;
+        this.keyCompares += other.keyCompares;
+        this.hashCollisions += other.hashCollisions;
+        this.memoryRestarts += other.memoryRestarts;
+    }
+
+    public long getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+
+    public long getNodesGenerated() {
+        return this.nodesGenerated;
+    }
+
+    public long getDuplicatesRejected() {
+        return this.duplicatesRejected;
+    }
+
+    public long getCanPlayPrunes() {
+        return this.canPlayPrunes;
+    }
+
+    public long getPeakOpenSize() {
+        return this.peakOpenSize;
+    }
+
+    public long getStorageBytes() {
+        return this.storageBytes;
+    }
+
+    public long getSolutionTreeEntries() {
+        return this.solutionTreeEntries;
+    }
+
+    public long getHashTableResizes() {
+        return this.hashTableResizes;
+    }
+
+    public long getEstimateCostCalls() {
+        return this.estimateCostCalls;
+    }
+
+    public long getEstimateCostNanos() {
+        return this.estimateCostNanos;
+    }
+
+    public long getEstimateCostCacheHits() {
+        return this.estimateCostCacheHits;
+    }
+
+    public long getUpperBoundPrunes() {
+        return this.upperBoundPrunes;
+    }
+
+    public long getKeyCompares() {
+        return this.keyCompares;
+    }
+
+    public long getHashCollisions() {
+        return this.hashCollisions;
+    }
+
+    public long getMemoryRestarts() {
+        return this.memoryRestarts;
+    }
+
+    /**
+     * call strategy.estimateCost() and count it; measure the time of some of the calls.
+     */
+    final int estimateCost(final AStarStrategy strategy, final AStarNode node, final int nonCompletedColors) {
+        if (0 != (++this.estimateCostCalls & ESTIMATE_COST_SAMPLE_MASK)) {
+            return strategy.estimateCost(node, nonCompletedColors);
+        }
+        final long nanoStart = System.nanoTime();
+        final int result = strategy.estimateCost(node, nonCompletedColors);
+        this.estimateCostNanos += (System.nanoTime() - nanoStart) * (ESTIMATE_COST_SAMPLE_MASK + 1);
+        return result;
+    }
+
+    /**
+     * @return a human-readable one-line summary of the counters
+     */
+    @Override
+    public String toString() {
+        return "expanded=" + this.nodesExpanded
+                + " generated=" + this.nodesGenerated
+                + " duplicates=" + this.duplicatesRejected
+                + " canPlayPrunes=" + this.canPlayPrunes
+                + " peakOpen=" + this.peakOpenSize
+                + " storage=" + (this.storageBytes >> 20) + "MiB"
+                + " solutionTree=" + this.solutionTreeEntries
+                + " resizes=" + this.hashTableResizes
+                + " estimateCost=" + this.estimateCostCalls + "/" + (this.estimateCostNanos / 1000000L) + "ms"
+                // only the parallel A* solver ("-searchThreads") caches the estimates in its closed set
+                + (0 == this.estimateCostCacheHits ? "" : " cacheHits=" + this.estimateCostCacheHits
+                + "(" + (100 * this.estimateCostCacheHits / Math.max(1, this.estimateCostCacheHits + this.estimateCostCalls)) + "%)")
+                + " boundPrunes=" + this.upperBoundPrunes
+                + " keyCompares=" + this.keyCompares
+                + " hashCollisions=" + this.hashCollisions
+                + " memoryRestarts=" + this.memoryRestarts;
+    }
+}
@@ -0,0 +1,181 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.ui;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import colorfill.model.Board;
+import colorfill.solver.AbstractSolver;
+import colorfill.solver.DfsGreedyNextStrategy;
+import colorfill.solver.Solution;
+import colorfill.solver.Solver;
+import colorfill.solver.SolverMetrics;
+import colorfill.solver.Strategy;
+
+/**
+ * solves the boards of a batch run, either one after another or concurrently on a pool of threads.
+ * the results are returned in the same order as the boards have been submitted,
+ * so the output files stay line-aligned with the input file.
+ */
+public class BatchRunner implements AutoCloseable {
+
+    private static int numThreads = 1;
+
+    /**
+     * set the number of boards that are solved concurrently in batch runs.
+     * @param threads number of threads
+     */
+    public static void setThreads(final int threads) {
+        numThreads = Math.max(1, threads);
+    }
+
+    public static int getThreads() {
+        return numThreads;
+    }
+
+    /**
+     * the result of solving one board.
+     */
+    public static class Result {
+        public final Solution solution;
+        public final int milliSeconds;
+        public final String solverInfo;
+        public final SolverMetrics metrics;
+        public final boolean timeLimitExceeded;
+        public final boolean outOfMemory; // the solution is the one of DfsGreedyNextStrategy, see submit()
+
+        private Result(final Solution solution, final int milliSeconds, final String solverInfo, final SolverMetrics metrics, final boolean timeLimitExceeded,
+                final boolean outOfMemory) {
+            this.solution = solution;
+            this.milliSeconds = milliSeconds;
+            this.solverInfo = solverInfo;
+            this.metrics = metrics;
+            this.timeLimitExceeded = timeLimitExceeded;
+            this.outOfMemory = outOfMemory;
+        }
+    }
+
+    private final Class<? extends Strategy> strategyClass;
+    private final ExecutorService executor; // null = run in the calling thread
+    private final int maxPending;
+    private final Deque<Future<Result>> pending = new ArrayDeque<Future<Result>>();
+
+    /**
+     * constructor
+     * @param strategyClass the strategy used for all boards
+     */
+    public BatchRunner(final Class<? extends Strategy> strategyClass) {
+        this.strategyClass = strategyClass;
+        if (numThreads > 1) {
+            this.executor = Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+                private int count = 0;
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, BatchRunner.class.getSimpleName() + "-" + this.count++);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        } else {
+            this.executor = null;
+        }
+        this.maxPending = 2 * numThreads; // keep all threads busy while the oldest board is being finished
+    }
+
+    /**
+     * solve this board. (asynchronously if the batch uses more than one thread)
+     * when the solver runs out of memory, the board is solved by DfsGreedyNextStrategy instead,
+     * so that the other boards of the batch, and the boards being solved concurrently, are not lost.
+     */
+    public void submit(final Board board) {
+        final Callable<Result> task = new Callable<Result>() {
+            @Override
+            public Result call() throws Exception {
+                final Solver solver = AbstractSolver.createSolver(BatchRunner.this.strategyClass, board);
+                final long nanoStart = System.nanoTime();
+                Solution solution;
+                boolean outOfMemory = false;
+                try {
+                    solver.execute(board.getStartPos(), null);
+                    solution = solver.getSolution();
+                } catch (OutOfMemoryError e) {
+                    outOfMemory = true;
+                    final Solver fastSolver = AbstractSolver.createSolver(DfsGreedyNextStrategy.class, board);
+                    fastSolver.execute(board.getStartPos(), null);
+                    solution = fastSolver.getSolution();
+                }
+                final long nanoEnd = System.nanoTime();
+                final int millis = (int)((nanoEnd - nanoStart + 999999L) / 1000000L);
+                return new Result(solution, millis, solver.getSolverInfo(), solver.getMetrics(), solver.isTimeLimitExceeded(), outOfMemory);
+            }
+        };
+        if (null == this.executor) {
+            final FutureTask<Result> future = new FutureTask<Result>(task);
+            future.run();
+            this.pending.add(future);
+        } else {
+            this.pending.add(this.executor.submit(task));
+        }
+    }
+
+    /**
+     * @return true if there are results that have not been returned by next() yet
+     */
+    public boolean hasPending() {
+        return false == this.pending.isEmpty();
+    }
+
+    /**
+     * get the result of the oldest board that has been submitted.
+     * @param wait true to wait for the result, false to return null if another board can be submitted first
+     * @return result, or null
+     */
+    public Result next(final boolean wait) throws InterruptedException {
+        final Future<Result> future = this.pending.peek();
+        if ((null == future) || (!wait && !future.isDone() && (this.pending.size() < this.maxPending))) {
+            return null;
+        }
+        this.pending.remove();
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (null != this.executor) {
+            this.executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package colorfill.ui;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import colorfill.model.Board;
+
+/**
+ * reads the boards of a batch run from a text file, which is memory-mapped
+ * in windows of up to 64 MiB, so files of any size can be streamed.
+ * the characters of each board are copied directly into a byte array,
+ * without creating any String objects.
+ * <p>
+ * two file formats are detected automatically, per board:<br>
+ * Code Golf 26232: 19 lines of 19 characters, followed by a separator line;
+ * the start position is in the center of the board.<br>
+ * Programming Challenge 19 (and datasets): one line per board;
+ * the start position is in the top left corner.
+ */
+public class BoardReader implements AutoCloseable {
+
+    private static final int CG_SIZE = 19; // Code Golf 26232
+    private static final long WINDOW_SIZE = 64L << 20; // CONFIGURE THIS
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart, windowEnd, position;
+    private byte[] chars = new byte[CG_SIZE * CG_SIZE];
+    private int numChars;
+
+    /**
+     * open the file.
+     */
+    public BoardReader(final String fileName) throws IOException {
+        this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+    }
+
+    /**
+     * read the next board.
+     * @return the board, or null at end of the file
+     */
+    public Board next() throws IOException {
+        final int startPos = this.readBoard();
+        return (startPos < 0 ? null : new Board(Arrays.copyOf(this.chars, this.numChars), startPos));
+    }
+
+    /**
+     * skip the next board.
+     * @return false at end of the file
+     */
+    public boolean skip() throws IOException {
+        return this.readBoard() >= 0;
+    }
+
+    /**
+     * read the characters of the next board into this.chars.
+     * @return the start position, or -1 at end of the file
+     */
+    private int readBoard() throws IOException {
+        this.numChars = 0;
+        int lineLength;
+        while (0 == (lineLength = this.readLine())) {
+            // skip empty lines
+        }
+        if (lineLength < 0) {
+            return -1;
+        } else if (CG_SIZE == lineLength) {
+            // Code Golf 26232
+            while (CG_SIZE == this.readLine()) {
+                // nothing, the characters are appended by readLine()
+            }
+            if (CG_SIZE * CG_SIZE == this.numChars) {
+                return (CG_SIZE * CG_SIZE - 1) / 2;
+            } else {
+                return -1; // incomplete board at end of the file
+            }
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * append the non-whitespace characters of the next line to this.chars.
+     * @return number of characters appended, or -1 at end of the file
+     */
+    private int readLine() throws IOException {
+        if (this.position >= this.fileSize) {
+            return -1;
+        }
+        final int start = this.numChars;
+        while (this.position < this.fileSize) {
+            if (this.position >= this.windowEnd) {
+                this.mapWindow();
+            }
+            final byte c = this.window.get((int)(this.position++ - this.windowStart));
+            if ('\n' == c) {
+                break;
+            } else if ((' ' != c) && ('\t' != c) && ('\r' != c)) {
+                if (this.numChars == this.chars.length) {
+                    this.chars = Arrays.copyOf(this.chars, this.chars.length * 2);
+                }
+                this.chars[this.numChars++] = c;
+            }
+        }
+        return this.numChars - start;
+    }
+
+    private void mapWindow() throws IOException {
+        this.windowStart = this.position;
+        this.windowEnd = Math.min(this.fileSize, this.windowStart + WINDOW_SIZE);
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowStart, this.windowEnd - this.windowStart);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -20,6 +20,7 @@ package colorfill.ui;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -35,19 +36,26 @@ import java.util.Scanner;
 import colorfill.model.Board;
 import colorfill.solver.AStarFlolleStrategy;
 import colorfill.solver.AStarPuchertStrategy;
+import colorfill.solver.AStarSolver;
 import colorfill.solver.AbstractSolver;
 import colorfill.solver.DfsDeepStrategy;
 import colorfill.solver.DfsDeeperStrategy;
 import colorfill.solver.DfsExhaustiveStrategy;
 import colorfill.solver.DfsGreedyStrategy;
 import colorfill.solver.DfsGreedyNextStrategy;
+import colorfill.solver.DfsParallelSolver;
+import colorfill.solver.DfsStrategy;
+import colorfill.solver.IdaStarSolver;
 import colorfill.solver.Solution;
 import colorfill.solver.Solver;
+import colorfill.solver.SolverEventLog;
+import colorfill.solver.SolverMetrics;
 import colorfill.solver.Strategy;
 
 public class Starter {
     
     public static void main(String[] args) throws Exception {
+        args = parseOptions(args);
         final String progname = "ColorFill";
         final String version  = "1.3.3 (2023-08-25)";
         final String author   = "Copyright (C) 2023 Michael Henke <smack42@gmail.com>";
@@ -88,6 +96,117 @@ public class Starter {
 
 
 
+    /**
+     * process the optional settings (like "-searchThreads 8") and remove them from the command line arguments.
+     * @param args command line arguments
+     * @return the remaining command line arguments
+     */
+    private static String[] parseOptions(final String[] args) {
+        final List<String> result = new ArrayList<String>();
+        long memoryBudget = 0;
+        int dfsTableSize = 0;
+        String checkpointDir = null;
+        long checkpointInterval = 600000L; // 10 minutes
+        int searchThreads = 1;
+        boolean idaStar = false, anytime = false, symmetry = false;
+        for (int i = 0;  i < args.length;  ++i) {
+            if ("-searchThreads".equals(args[i]) && (i + 1 < args.length)) {
+                searchThreads = Integer.parseInt(args[++i]);
+                AbstractSolver.setAStarThreads(searchThreads);
+            } else if ("-dfsThreads".equals(args[i]) && (i + 1 < args.length)) {
+                AbstractSolver.setDfsThreads(Integer.parseInt(args[++i]));
+            } else if ("-dfsTableSize".equals(args[i]) && (i + 1 < args.length)) {
+                dfsTableSize = Integer.parseInt(args[++i]); // MiB
+            } else if ("-storageDir".equals(args[i]) && (i + 1 < args.length)) {
+                AStarSolver.setStorageDirectory(args[++i]);
+            } else if ("-compactStates".equals(args[i])) {
+                AStarSolver.setCompactStates(true);
+            } else if ("-hashTableSegments".equals(args[i]) && (i + 1 < args.length)) {
+                AStarSolver.setHashTableSegments(Integer.parseInt(args[++i]));
+            } else if ("-robinHood".equals(args[i])) {
+                AStarSolver.setRobinHoodHashing(true);
+            } else if ("-fingerprints".equals(args[i]) && (i + 1 < args.length)) {
+                AStarSolver.setHashFingerprints(true, false == "unverified".equals(args[++i])); // "verified" or "unverified"
+            } else if ("-symmetry".equals(args[i])) {
+                symmetry = true;
+                AbstractSolver.setBoardSymmetry(true);
+            } else if ("-checkpointDir".equals(args[i]) && (i + 1 < args.length)) {
+                checkpointDir = args[++i];
+            } else if ("-checkpointInterval".equals(args[i]) && (i + 1 < args.length)) {
+                checkpointInterval = parseSeconds(args[++i]);
+            } else if ("-timeLimit".equals(args[i]) && (i + 1 < args.length)) {
+                AbstractSolver.setTimeLimit(parseSeconds(args[++i])); // per board
+            } else if ("-deadline".equals(args[i]) && (i + 1 < args.length)) {
+                AbstractSolver.setDeadline(parseSeconds(args[++i])); // from now, for all boards
+            } else if ("-anytime".equals(args[i]) && (i + 1 < args.length)) {
+                anytime = true;
+                AStarSolver.setAnytimeWeight(Integer.parseInt(args[++i]));
+            } else if ("-upperBound".equals(args[i]) && (i + 1 < args.length)) {
+                try {
+                    AStarSolver.setUpperBoundStrategy(Class.forName("colorfill.solver." + args[++i]).asSubclass(DfsStrategy.class));
+                } catch (ClassNotFoundException | ClassCastException e) {
+                    System.out.println("unknown upper bound strategy: " + e);
+                }
+            } else if ("-idaStar".equals(args[i])) {
+                idaStar = true;
+                AbstractSolver.setAStarIterativeDeepening(true);
+            } else if ("-idaTableSize".equals(args[i]) && (i + 1 < args.length)) {
+                IdaStarSolver.setTableSize(Integer.parseInt(args[++i]));
+            } else if ("-memoryBudget".equals(args[i]) && (i + 1 < args.length)) {
+                memoryBudget = Long.parseLong(args[++i]) << 20; // MiB
+            } else if ("-threads".equals(args[i]) && (i + 1 < args.length)) {
+                BatchRunner.setThreads(Integer.parseInt(args[++i]));
+            } else if ("-eventLog".equals(args[i]) && (i + 1 < args.length)) {
+                try {
+                    AbstractSolver.setEventListener(new SolverEventLog(args[++i])); // flushed after each event, stays open until exit
+                } catch (IOException e) {
+                    System.out.println("cannot create event log: " + e);
+                }
+            } else {
+                result.add(args[i]);
+            }
+        }
+        if (null != checkpointDir) {
+            AStarSolver.setCheckpoint(checkpointDir, checkpointInterval);
+        }
+        if ((searchThreads > 1) && (false == idaStar)) {
+            // these options are implemented by the sequential AStarSolver only, not by AStarParallelSolver
+            if (null != checkpointDir) {
+                System.out.println("warning: -checkpointDir is ignored with -searchThreads " + searchThreads + " : no checkpoints are written or resumed");
+            }
+            if (anytime) {
+                System.out.println("warning: -anytime is ignored with -searchThreads " + searchThreads + " : only the optimal search is run");
+            }
+            if (symmetry) {
+                System.out.println("warning: -symmetry is ignored by the AStar solver with -searchThreads " + searchThreads);
+            }
+        }
+        AStarSolver.setMemoryBudget(memoryBudget); // shared by the boards that are solved concurrently
+        DfsParallelSolver.setTableSize(dfsTableSize);
+        if (0 != memoryBudget) {
+            // the tables of fixed size of the DFS and IDA* solvers are part of the budget
+            DfsParallelSolver.setTableSize((int)Math.max(1, Math.min(DfsParallelSolver.getTableSizeBytes(), memoryBudget) >> 20));
+            IdaStarSolver.setTableSize((int)Math.max(1, Math.min(IdaStarSolver.getTableSizeBytes(), memoryBudget) >> 20));
+        }
+        if (BatchRunner.getThreads() > 1) {
+            // each concurrent solver allocates its own state map or transposition table, so they share the size
+            DfsParallelSolver.setTableSize((int)Math.max(1, DfsParallelSolver.getTableSizeBytes() / BatchRunner.getThreads() >> 20));
+            IdaStarSolver.setTableSize((int)Math.max(1, IdaStarSolver.getTableSizeBytes() / BatchRunner.getThreads() >> 20));
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+    /**
+     * parse the value of a time option, like "-timeLimit 60" or "-timeLimit 0.5".
+     * @param seconds number of seconds, may have a fraction
+     * @return number of milliseconds
+     */
+    private static long parseSeconds(final String seconds) {
+        return Math.round(Double.parseDouble(seconds) * 1000.0);
+    }
+
+
+
     /**
      * test some basics
      */
@@ -134,50 +253,6 @@ public class Starter {
     }
 
 
-    private static String readBoard(final BufferedReader br) throws Exception {
-        String result = null;
-        final String firstLine = br.readLine();
-        if (null == firstLine) {
-            // nothing to do
-        } else if (19 == firstLine.length()) {
-            // Code Golf 26232
-            final StringBuilder sb = new StringBuilder(19*19);
-            sb.append(firstLine);
-            for (;;) {
-                final String line = br.readLine();
-                if ((null == line) || (19 != line.length())) {
-                    break;
-                } else {
-                    sb.append(line);
-                }
-            }
-            if (19*19 == sb.length()) {
-                result = sb.toString();
-            }
-        } else {
-            result = firstLine;
-        }
-        return result;
-    }
-
-    private static Board makeBoard(final BufferedReader br) throws Exception {
-        Board result = null;
-        final String boardData = readBoard(br);
-        if (null != boardData) {
-            final int startPos;
-            if (19*19 == boardData.length()) {
-                // Code Golf 26232
-                startPos = (19*19-1)/2;
-            } else {
-                startPos = 0;
-            }
-            result = new Board(boardData, startPos);
-        }
-        return result;
-    }
-
-
-
     /**
      * test a solver implementation using the "tiles.txt" from
      * Programming Challenge 19 - Fill a Grid of Tiles
@@ -207,14 +282,18 @@ public class Starter {
         final int[] stCountSteps = new int[STRATEGIES.length], stCountSteps25 = new int[STRATEGIES.length], stCountBest = new int[STRATEGIES.length];
         final int[] stCountCheckFailed = new int[STRATEGIES.length], stCountCheckOK = new int[STRATEGIES.length];
         final long[] stNanoTime = new long[STRATEGIES.length];
+        final SolverMetrics[] stMetrics = new SolverMetrics[STRATEGIES.length];
+        for (int strategy = 0;  strategy < STRATEGIES.length;  ++strategy) {
+            stMetrics[strategy] = new SolverMetrics();
+        }
 
         // read lines from the input file
-        try (   final BufferedReader brTiles = new BufferedReader(new FileReader(inputFileName));
+        try (   final BoardReader brTiles = new BoardReader(inputFileName);
                 final PrintWriter pwResults = new PrintWriter(new FileWriter(outputFileName))
             ) {
             int count = 0;
             for (;;) {
-                final Board board = makeBoard(brTiles);
+                final Board board = brTiles.next();
                 if (null == board) {
                     break; // end of input file !?
                 }
@@ -227,6 +306,7 @@ public class Starter {
                     final int numSteps = solver.execute(board.getStartPos(), DfsExhaustiveStrategy.class.equals(STRATEGIES[strategy]) ? bestSolution : null);
                     final long nanoEnd = System.nanoTime();
                     stNanoTime[strategy] += nanoEnd - nanoStart;
+                    stMetrics[strategy].add(solver.getMetrics());
                     stSolution[strategy] = solver.getSolution();
                     stCountSteps[strategy] += numSteps;
                     stCountSteps25[strategy] += (numSteps > 25 ? 25 : numSteps);
@@ -281,6 +361,9 @@ public class Starter {
                         padRight("milliSeconds=" + ((stNanoTime[strategy] + 999999L) / 1000000L), 13 + 5 + 2)
                         );
             }
+            for (int strategy = 0;  strategy < STRATEGIES.length;  ++strategy) {
+                System.out.println(padRight(strategy + "_" + STRATEGIES[strategy].getSimpleName(), 2 + 21 + 2) + stMetrics[strategy]);
+            }
             System.out.println("total steps:   " + countStepsBest);
             System.out.println("total steps25: " + countSteps25Best + (1000 == count ? "  (Programming Challenge 19 score)" : ""));
             pwResults.println("Total Moves = " + countSteps25Best);
@@ -311,7 +394,7 @@ public class Starter {
         System.out.println("reading  input file: " + inputFileName);
         final String outputFileName = "steps.txt";
         System.out.println("writing output file: " + outputFileName);
-        try (   final BufferedReader brBoards = new BufferedReader(new FileReader(inputFileName));
+        try (   final BoardReader brBoards = new BoardReader(inputFileName);
                 final PrintWriter pwSteps = new PrintWriter(new FileWriter(outputFileName, true))  // append to existing output file
             ) {
             int count = 0, countSteps = 0;
@@ -326,8 +409,7 @@ public class Starter {
                     if (null == steps) {
                         break;  // end of output file
                     }
-                    final Board board = makeBoard(brBoards);
-                    if (null == board) {
+                    if (false == brBoards.skip()) {
                         break; // end of input file
                     }
                     ++count;
@@ -341,7 +423,7 @@ public class Starter {
             // read input file and solve boards and write to output file
             main_loop:
                 for (;;) {
-                    final Board board = makeBoard(brBoards);
+                    final Board board = brBoards.next();
                     if (null == board) {
                         break; // end of input file !?
                     }
@@ -445,7 +527,7 @@ public class Starter {
         System.out.println("reading  input file: " + inputFileName);
         final String outputFileName = "steps.txt";
         System.out.println("writing output file: " + outputFileName);
-        try (   final BufferedReader brBoards = new BufferedReader(new FileReader(inputFileName));
+        try (   final BoardReader brBoards = new BoardReader(inputFileName);
                 final PrintWriter pwSteps = new PrintWriter(new FileWriter(outputFileName, true))  // append to existing output file
             ) {
             int count = 0, totalSteps = 0;
@@ -457,8 +539,7 @@ public class Starter {
                     if (null == steps) {
                         break;  // end of output file
                     }
-                    final String board = readBoard(brBoards);
-                    if (null == board) {
+                    if (false == brBoards.skip()) {
                         break; // end of input file
                     }
                     ++count;
@@ -471,43 +552,65 @@ public class Starter {
 
             // read input file and solve boards and write to output file
             final List<Integer> allMilliSeconds = new ArrayList<Integer>();
+            final SolverMetrics allMetrics = new SolverMetrics();
             int sessionStart = count + 1;
             int sessionSteps = 0;
-            main_loop:
-                for (;;) {
-                    final Board board = makeBoard(brBoards);
-                    if (null == board) {
-                        break; // end of input file !?
+            int countTimeLimit = 0, countWeighted = 0, countOutOfMemory = 0;
+            try (final BatchRunner runner = new BatchRunner(STRATEGIES[0].asSubclass(Strategy.class))) {
+                boolean endOfInput = false;
+                while ((false == endOfInput) || runner.hasPending()) {
+                    if (false == endOfInput) {
+                        final Board board = brBoards.next();
+                        if (null == board) {
+                            endOfInput = true; // end of input file !?
+                        } else {
+                            runner.submit(board);
+                        }
+                    }
+                    final BatchRunner.Result result = runner.next(endOfInput);
+                    if (null == result) {
+                        continue; // submit the next board
                     }
                     ++count;
-                    final Solver solver = AbstractSolver.createSolver(STRATEGIES[0].asSubclass(Strategy.class), board);
-                    final long nanoStart = System.nanoTime();
-                    solver.execute(board.getStartPos(), null);
-                    final long nanoEnd = System.nanoTime();
-                    final Solution solution = solver.getSolution();
+                    final Solution solution = result.solution;
                     totalSteps += solution.getNumSteps();
                     sessionSteps += solution.getNumSteps();
-                    final int millis = (int)((nanoEnd - nanoStart + 999999L) / 1000000L);
+                    final int millis = result.milliSeconds;
                     allMilliSeconds.add(Integer.valueOf(millis));
+                    allMetrics.add(result.metrics);
+                    if (result.timeLimitExceeded) {
+                        ++countTimeLimit;
+                    }
+                    if (result.metrics.getMemoryRestarts() > 0) {
+                        ++countWeighted;
+                    }
+                    if (result.outOfMemory) {
+                        ++countOutOfMemory;
+                    }
                     System.out.println(
                             padRight("" + count, 6 + 1) +
                             padRight(solution.toString() + "____________" + solution.getNumSteps(), 28 + 12 + 2 + 2) +
                             padRight("milliSeconds=" + millis, 13 + 8 + 2) +
-                            "predictedTotal=" + (100000L*totalSteps/count)
+                            "predictedTotal=" + (100000L*totalSteps/count) +
+                            (result.timeLimitExceeded ? "  timeLimit" : "") +
+                            (result.metrics.getMemoryRestarts() > 0 ? "  weighted" : "") +
+                            (result.outOfMemory ? "  OutOfMemoryError" : "")
                             );
                     System.out.flush();
                     pwSteps.println(solution.toString());
                     pwSteps.flush();
 
                     // look for user input on stdin - if "q" is entered then we quit
+                    // (after the boards that are being solved have been finished)
                     while (System.in.available() > 0) {
                         final int inp = System.in.read();
                         if ('q' == inp) {
-                            break main_loop;
+                            endOfInput = true;
                         }
                     }
                     //            if (count >= 1000) break;  // do 1% of the input file only
                 }
+            }
 
             // print summary
             int minMillis = Integer.MAX_VALUE;
@@ -525,8 +628,12 @@ public class Starter {
                     STRATEGIES[0].getSimpleName() + "   " +
                             "session(" + sessionStart + "," + count + ")=" + (count-sessionStart+1) + "   " +
                             "steps=" + sessionSteps + "   " +
-                            "milliSeconds_min/median/average/max=" + minMillis + "/" + medianMillis + "/" + avgMillis + "/" + maxMillis
+                            "milliSeconds_min/median/average/max=" + minMillis + "/" + medianMillis + "/" + avgMillis + "/" + maxMillis +
+                            (0 == countTimeLimit ? "" : "   timeLimit=" + countTimeLimit) +
+                            (0 == countWeighted ? "" : "   weighted=" + countWeighted) +
+                            (0 == countOutOfMemory ? "" : "   OutOfMemoryError=" + countOutOfMemory)
                     );
+            System.out.println("metrics: " + allMetrics);
             System.out.println("total steps: " + totalSteps + (100000 == count ? "  (Code Golf 26232: Create a Flood Paint AI)" : ""));
         }
     }
@@ -545,37 +652,59 @@ public class Starter {
         System.out.println("reading  input file: " + inputFileName);
         final String outputFileName = inputFileName + "_solution_" + solverName + ".txt";
         System.out.println("writing output file: " + outputFileName);
-        try (   final BufferedReader brBoards = new BufferedReader(new FileReader(inputFileName));
+        try (   final BoardReader brBoards = new BoardReader(inputFileName);
                 final PrintWriter pwSteps = new PrintWriter(new FileWriter(outputFileName));
             ) {
-            int count = 0, totalSteps = 0;
-            long totalNanos = 0;
+            int count = 0, totalSteps = 0, countTimeLimit = 0, countWeighted = 0, countOutOfMemory = 0;
+            long totalMillis = 0;
+            final long nanoStartBatch = System.nanoTime();
             // read input file and solve boards and write to output file
             final List<Integer> allMilliSeconds = new ArrayList<Integer>();
-            for (;;) {
-                final long nanoStart = System.nanoTime();
-                final Board board = makeBoard(brBoards);
-                if (null == board) {
-                    break; // end of input file !?
+            final SolverMetrics allMetrics = new SolverMetrics();
+            try (final BatchRunner runner = new BatchRunner(STRATEGY.asSubclass(Strategy.class))) {
+                boolean endOfInput = false;
+                while ((false == endOfInput) || runner.hasPending()) {
+                    if (false == endOfInput) {
+                        final Board board = brBoards.next();
+                        if (null == board) {
+                            endOfInput = true; // end of input file !?
+                        } else {
+                            runner.submit(board);
+                        }
+                    }
+                    final BatchRunner.Result result = runner.next(endOfInput);
+                    if (null == result) {
+                        continue; // submit the next board
+                    }
+                    ++count;
+                    final Solution solution = result.solution;
+                    totalSteps += solution.getNumSteps();
+                    final int millis = result.milliSeconds;
+                    totalMillis += millis;
+                    allMilliSeconds.add(Integer.valueOf(millis));
+                    allMetrics.add(result.metrics);
+                    if (result.timeLimitExceeded) {
+                        ++countTimeLimit;
+                    }
+                    if (result.metrics.getMemoryRestarts() > 0) {
+                        ++countWeighted;
+                    }
+                    if (result.outOfMemory) {
+                        ++countOutOfMemory;
+                    }
+                    System.out.println(
+                            padRight("" + count, 6 + 1) +
+                            padRight(solution.toString() + "____________" + solution.getNumSteps(), 32 + 12 + 2 + 2) +
+                            padRight("milliSeconds=" + millis, 13 + 6 + 2) +
+                            (null == result.solverInfo ? "" : result.solverInfo) + // it shows "mode=timeLimit"
+                            (result.outOfMemory ? "  OutOfMemoryError" : "")
+                            );
+                    //            System.out.flush();
+                    pwSteps.println(solution.toString());
+                    pwSteps.flush();
                 }
-                ++count;
-                final Solver solver = AbstractSolver.createSolver(STRATEGY.asSubclass(Strategy.class), board);
-                solver.execute(board.getStartPos(), null);
-                final Solution solution = solver.getSolution();
-                totalSteps += solution.getNumSteps();
-                final long nanoEnd = System.nanoTime();
-                totalNanos += nanoEnd - nanoStart;
-                final int millis = (int)((nanoEnd - nanoStart + 999999L) / 1000000L);
-                allMilliSeconds.add(Integer.valueOf(millis));
-                System.out.println(
-                        padRight("" + count, 6 + 1) +
-                        padRight(solution.toString() + "____________" + solution.getNumSteps(), 32 + 12 + 2 + 2) +
-                        "milliSeconds=" + millis
-                        );
-                //            System.out.flush();
-                pwSteps.println(solution.toString());
-                pwSteps.flush();
             }
+            final long wallMillis = (System.nanoTime() - nanoStartBatch + 999999L) / 1000000L;
 
             // print summary
             int minMillis = Integer.MAX_VALUE;
@@ -588,10 +717,14 @@ public class Starter {
             }
             Collections.sort(allMilliSeconds);
             int medianMillis = allMilliSeconds.isEmpty() ? 0 : allMilliSeconds.get(Math.min(allMilliSeconds.size()/2, allMilliSeconds.size()-1)).intValue();
-            long totalMillis = (int)((totalNanos + 999999L) / 1000000L);
             avgMillis = avgMillis / (allMilliSeconds.isEmpty() ? 1 : allMilliSeconds.size());
-            System.out.println(solverName + "  " + count + " solutions with  " + totalSteps + " steps");
-            System.out.println("milliSeconds_min/median/average/max=" + minMillis + "/" + medianMillis + "/" + avgMillis + "/" + maxMillis + "  total=" + totalMillis);
+            System.out.println(solverName + "  " + count + " solutions with  " + totalSteps + " steps"
+                    + (0 == countTimeLimit ? "" : "  (" + countTimeLimit + " stopped by the time limit)")
+                    + (0 == countWeighted ? "" : "  (" + countWeighted + " weighted A*, the memory budget has been exceeded)")
+                    + (0 == countOutOfMemory ? "" : "  (" + countOutOfMemory + " OutOfMemoryError, solved by DfsGreedyNextStrategy)"));
+            System.out.println("milliSeconds_min/median/average/max=" + minMillis + "/" + medianMillis + "/" + avgMillis + "/" + maxMillis + "  total=" + totalMillis
+                    + (BatchRunner.getThreads() > 1 ? "  threads=" + BatchRunner.getThreads() + " wallClock=" + wallMillis : ""));
+            System.out.println("metrics: " + allMetrics);
         }
     }
 
@@ -608,13 +741,13 @@ public class Starter {
         System.out.println("running solution validator");
         System.out.println("reading input file    Boards: " + inputFileNameBoards);
         System.out.println("reading input file Solutions: " + inputFileNameSolutions);
-        try (   final BufferedReader brBoards = new BufferedReader(new FileReader(inputFileNameBoards));
+        try (   final BoardReader brBoards = new BoardReader(inputFileNameBoards);
                 final BufferedReader brSolutions= new BufferedReader(new FileReader(inputFileNameSolutions))
             ) {
             final int[] countSolutionLengths = new int[1000]; // arbitrary limit
             int countOK = 0, countFAIL = 0, totalSolutionSteps = 0;
             for (;;) {
-                final Board board = makeBoard(brBoards);
+                final Board board = brBoards.next();
                 final String solutionStr = brSolutions.readLine();
                 if ((null == board) || (null == solutionStr)) {
                     break;
@@ -725,7 +858,8 @@ public class Starter {
                 String compare = "===="; // equal number of moves
                 if (solution.getNumSteps() > boardSolutionMoves) compare = "++++"; // we have more moves
                 if (solution.getNumSteps() < boardSolutionMoves) compare = "----"; // we have less moves
-                System.out.print("  " + compare + " " + "myMoves=" + solution.getNumSteps() + "  in " + millis + " ms");
+                System.out.print("  " + compare + " " + "myMoves=" + solution.getNumSteps() + "  in " + millis + " ms"
+                        + (solver.isTimeLimitExceeded() ? "  timeLimit" : ""));
                 System.out.println();
             }
         }
@@ -0,0 +1,190 @@
+/*  ColorFill game and solver
+    Copyright (C) 2026 Michael Henke
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * source code generator of the performance-optimized versions of AStarPuchertStrategy
+ * (manually inlined functions and unrolled loops), one class for each number of "long" elements
+ * of the ColorAreaSets, from 1 up to the specified maximum.
+ * <p>
+ * it replaces the parts of AStarPuchertStrategy.java between the "BEGIN GENERATED" and "END GENERATED" markers.
+ * the size of the generated methods grows quadratically, so the maximum must be chosen such that
+ * the bytecode of estimateCost() stays below the limit of the JIT compiler (-XX:-DontCompileHugeMethods, 8000 bytes).
+ * <p>
+ * usage (from the root directory of the project):<br>
+ * javac -d /tmp tools/GenerateAStarPuchertStrategy.java<br>
+ * java -cp /tmp GenerateAStarPuchertStrategy 10 src/colorfill/solver/AStarPuchertStrategy.java
+ */
+public class GenerateAStarPuchertStrategy {
+
+    private static final String BEGIN = "// BEGIN GENERATED ", END = "// END GENERATED ";
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("usage: GenerateAStarPuchertStrategy <maximum number of longs> <path of AStarPuchertStrategy.java>");
+            return;
+        }
+        final int max = Integer.parseInt(args[0]);
+        final Path path = Paths.get(args[1]);
+        String source = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        source = replace(source, "getInstance", generateSwitch(max));
+        source = replace(source, "classes", generateClasses(max));
+        Files.write(path, source.getBytes(StandardCharsets.UTF_8));
+        System.out.println("generated " + max + " classes in " + path);
+    }
+
+    /**
+     * replace the lines between the markers with this name.
+     */
+    private static String replace(final String source, final String name, final String code) {
+        final int begin = source.indexOf(BEGIN + name);
+        final int end = source.indexOf(END + name);
+        if ((begin < 0) || (end < begin)) {
+            throw new IllegalArgumentException("markers not found: " + name);
+        }
+        final int afterBegin = source.indexOf('\n', begin) + 1;
+        final int beforeEnd = source.lastIndexOf('\n', end) + 1;
+        return source.substring(0, afterBegin) + code + source.substring(beforeEnd);
+    }
+
+    private static String generateSwitch(final int max) {
+        final StringBuilder sb = new StringBuilder();
+        for (int n = 1;  n <= max;  ++n) {
+            final String label = "case " + n + ":";
+            sb.append("        ").append(label).append(spaces(9 - label.length()))
+              .append("return new AStarPuchertStrategy_").append(n).append("(board, storage);\n");
+        }
+        return sb.toString();
+    }
+
+    private static String generateClasses(final int max) {
+        final StringBuilder sb = new StringBuilder();
+        for (int n = 1;  n <= max;  ++n) {
+            sb.append("\n\n");
+            generateClass(sb, n);
+        }
+        sb.append("\n\n");
+        return sb.toString();
+    }
+
+    private static void generateClass(final StringBuilder sb, final int n) {
+        sb.append("    static class AStarPuchertStrategy_").append(n).append(" extends AStarPuchertStrategy {\n");
+        sb.append("        public AStarPuchertStrategy_").append(n).append("(final Board board, final StateStorage storage) {\n");
+        sb.append("            super(board, storage);\n");
+        sb.append("        }\n");
+        sb.append("        @Override\n");
+        sb.append("        public int estimateCost(final AStarNode node, int nonCompletedColors) {\n");
+        sb.append("            int distance = 0;\n");
+        for (int i = 0;  i < n;  ++i) {
+            sb.append("            long current").append(i).append(" = this.storage.get(node.getNeighbors(), ").append(i).append(");\n");
+        }
+        for (int i = 0;  i < n;  ++i) {
+            sb.append("            long visited").append(i).append(" = this.storage.get(node.getFlooded(), ").append(i).append(");\n");
+        }
+        sb.append("            while (true) {\n");
+        for (int i = 0;  i < n;  ++i) {
+            sb.append("                visited").append(i).append(" |= current").append(i).append(";\n");
+        }
+        sb.append("                int completedColors = 0;\n");
+        sb.append("                for (int colors = nonCompletedColors;  0 != colors;  colors &= colors - 1) {\n");
+        sb.append("                    final int colorBit = Integer.lowestOneBit(colors);\n");
+        sb.append("                    final long[] casColor = this.casByColorBits[colorBit];\n");
+        for (int i = 0;  i < n;  ++i) {
+            sb.append(0 == i ? "                    if (" : "                        ");
+            sb.append("((visited").append(i).append(" & casColor[").append(i).append("]) == casColor[").append(i).append("])");
+            sb.append(n - 1 == i ? ") {\n" : " &&\n");
+        }
+        sb.append("                        completedColors |= colorBit;\n");
+        sb.append("                    }\n");
+        sb.append("                }\n");
+        sb.append("                if (0 != completedColors) {\n");
+        sb.append("                    nonCompletedColors ^= completedColors;\n");
+        sb.append("                    // We can eliminate colors. Do just that.\n");
+        sb.append("                    // We also combine all these elimination moves.\n");
+        sb.append("                    distance += Integer.bitCount(completedColors);\n");
+        sb.append("                    if (0 == (nonCompletedColors & (nonCompletedColors - 1))) { // one or zero colors remaining\n");
+        sb.append("                        distance += (-nonCompletedColors >>> 31); // nonCompletedColors is never negative // (0 == nonCompletedColors ? 0 : 1)\n");
+        sb.append("                        return distance; // done\n");
+        sb.append("                    } else {\n");
+        sb.append("                        // completed colors\n");
+        sb.append("                        final long[] colorCas = this.casByColorBits[completedColors];\n");
+        sb.append("                        // non-completed colors\n");
+        sb.append("                        // move nodes to next layer\n");
+        sb.append("                        long ").append(declareLayer(n)).append(";\n");
+        for (int i = 0;  i < n;  ++i) {
+            sb.append("                        ").append(0 == i ? "long " : "").append("buf = (current").append(i).append(" & colorCas[").append(i).append("]);\n");
+            sb.append("                        current").append(i).append(" ^= buf;\n");
+            sb.append("                        while (buf != 0) {\n");
+            sb.append("                            final long[] casAdd = this.idsNeighborColorAreaSets[").append(offset(i)).append("Long.numberOfTrailingZeros(buf)];\n");
+            sb.append("                            buf &= buf - 1; // clear the least significant bit set\n");
+            for (int k = 0;  k < n;  ++k) {
+                sb.append("                            l").append(k).append(" |= casAdd[").append(k).append("];\n");
+            }
+            sb.append("                        }\n");
+        }
+        for (int i = 0;  i < n;  ++i) {
+            sb.append("                        current").append(i).append(" |= l").append(i).append(" & ~visited").append(i).append(";\n");
+        }
+        sb.append("                    }\n");
+        sb.append("                } else {\n");
+        sb.append("                    // Nothing found, do the color-blind pseudo-move\n");
+        sb.append("                    // Expand current layer of nodes.\n");
+        sb.append("                    ++distance;\n");
+        sb.append("                    long ").append(declareLayer(n)).append(";\n");
+        for (int i = 0;  i < n;  ++i) {
+            sb.append("                    while (current").append(i).append(" != 0) {\n");
+            sb.append("                        final long[] casAdd = this.idsNeighborColorAreaSets[").append(offset(i)).append("Long.numberOfTrailingZeros(current").append(i).append(")];\n");
+            sb.append("                        current").append(i).append(" &= current").append(i).append(" - 1; // clear the least significant bit set\n");
+            for (int k = 0;  k < n;  ++k) {
+                sb.append("                        l").append(k).append(" |= casAdd[").append(k).append("];\n");
+            }
+            sb.append("                    }\n");
+        }
+        for (int i = 0;  i < n;  ++i) {
+            sb.append("                    current").append(i).append(" = l").append(i).append(" & ~visited").append(i).append(";\n");
+        }
+        sb.append("                }\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("    }\n");
+    }
+
+    private static String declareLayer(final int n) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0;  i < n;  ++i) {
+            sb.append(0 == i ? "" : ", ").append('l').append(i).append(" = 0");
+        }
+        return sb.toString();
+    }
+
+    private static String offset(final int i) {
+        return (0 == i ? "" : "64 * " + i + " + ");
+    }
+
+    private static String spaces(final int count) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0;  i < count;  ++i) {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+}